@@ -1,16 +1,20 @@
 package com.ebingo.backend.game.controller._public;
 
 import com.ebingo.backend.common.dto.ApiResponse;
+import com.ebingo.backend.game.dto.CardPoolPageDto;
 import com.ebingo.backend.game.dto.RoomDto;
+import com.ebingo.backend.game.service.CardPoolService;
 import com.ebingo.backend.game.service.RoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -22,10 +26,14 @@ import java.util.List;
 @RequestMapping("/api/v1/public/rooms")
 @Tag(name = "Room Secured Controller", description = "Room Secured Controller")
 public class RoomPublicController {
+    private static final int MAX_CARD_POOL_PAGE_SIZE = 500;
+
     private final RoomService roomService;
+    private final CardPoolService cardPoolService;
 
-    public RoomPublicController(RoomService roomService) {
+    public RoomPublicController(RoomService roomService, CardPoolService cardPoolService) {
         this.roomService = roomService;
+        this.cardPoolService = cardPoolService;
     }
 
 
@@ -48,6 +56,29 @@ public class RoomPublicController {
     }
 
 
+    /**
+     * The room's card pool, page by page. The game state message only carries the pool version; a page is
+     * fixed by that version and the paging, so it is served under a strong ETag and a client holding it
+     * gets a 304 back.
+     */
+    @GetMapping("/{id}/card-pool")
+    @Operation(summary = "Get room card pool", description = "Get one page of the room's card pool")
+    public Mono<ResponseEntity<CardPoolPageDto>> getCardPool(
+            @Parameter(required = true, description = "Room ID") @PathVariable Long id,
+            @Parameter(description = "Page number, from 0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cards per page") @RequestParam(defaultValue = "100") int size) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_CARD_POOL_PAGE_SIZE);
+
+        return cardPoolService.getPoolPage(id, pageNumber, pageSize)
+                .map(pool -> ResponseEntity.ok()
+                        .eTag("\"" + pool.getVersion() + "." + pageNumber + "." + pageSize + "\"")
+                        .cacheControl(CacheControl.noCache())
+                        .body(pool))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+
     @GetMapping
     @Operation(summary = "Get all rooms", description = "Get all rooms")
     public Mono<ResponseEntity<ApiResponse<List<RoomDto>>>> getAllRooms(ServerWebExchange exchange) {
@@ -0,0 +1,28 @@
+package com.ebingo.backend.game.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of a game's card pool. Depends only on the pool version and the paging, so it can be cached
+ * under a strong ETag.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class CardPoolPageDto {
+    private String version;
+
+    private Integer page;
+
+    private Integer size;
+
+    private Integer totalCards;
+
+    private Integer totalPages;
+
+    private List<CardInfo> cards;
+}
@@ -1,11 +1,11 @@
 package com.ebingo.backend.game.dto;
 
+import com.ebingo.backend.game.state.NumberSet;
 import lombok.Builder;
 import lombok.Data;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Set;
 
 @Data
 @Builder
@@ -18,6 +18,6 @@ public class GameEndResponse {
     private BigDecimal prizeAmount;
     private LocalDateTime winAt;
     private boolean hasWinner;
-    private Set<Integer> markedNumbers;
+    private NumberSet markedNumbers;
     private CardInfo card;
 }
@@ -0,0 +1,21 @@
+package com.ebingo.backend.game.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A client command addressed to a room, as routed to the node that owns the room.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomCommand {
+    private String type;
+    private Long roomId;
+    private String userId;
+    private String username;
+    private Map<String, Object> payload;
+}
@@ -268,6 +268,7 @@
 package com.ebingo.backend.game.service;
 
 import com.ebingo.backend.game.enums.BingoColumn;
+import com.ebingo.backend.game.state.NumberSet;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -331,40 +332,43 @@ public class BingoPatternVerifier {
     }
 
     /**
-     * Checks if all numbers in subset are contained in marked set, considering free space.
+     * Mask of the given cells. Empty cells (null) and the free space (0) are left out, so they always count as marked.
      */
-    private boolean containsAll(Collection<Integer> subset, Set<Integer> marked) {
-        Set<Integer> effectiveMarked = new HashSet<>(marked);
-        effectiveMarked.add(0); // free space always counted
+    private NumberSet mask(Collection<Integer> cells) {
+        return NumberSet.of(cells);
+    }
 
-        for (Integer n : subset) {
-            if (n == null) continue;
-            if (!effectiveMarked.contains(n)) return false;
-        }
-        return true;
+    /**
+     * Marked numbers as a mask. Numbers outside 1..75 can't be on a valid card, so they are dropped.
+     */
+    private NumberSet toNumberSet(Set<Integer> marked) {
+        return NumberSet.of(marked.stream()
+                .filter(n -> n != null && NumberSet.inRange(n))
+                .mapToInt(Integer::intValue)
+                .toArray());
     }
 
     // -------------------------
     // Standard patterns
     // -------------------------
 
-    public boolean verifyFullHouse(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+    public boolean verifyFullHouse(Map<BingoColumn, List<Integer>> card, NumberSet marked) {
         if (!isValidCard(card)) return false;
         List<List<Integer>> grid = toGrid(card);
         List<Integer> allNumbers = grid.stream()
                 .flatMap(List::stream)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
-        return containsAll(allNumbers, marked);
+        return marked.containsAll(mask(allNumbers));
     }
 
-    public boolean verifyAnyRow(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+    public boolean verifyAnyRow(Map<BingoColumn, List<Integer>> card, NumberSet marked) {
         if (!isValidCard(card)) return false;
         List<List<Integer>> grid = toGrid(card);
-        return grid.stream().anyMatch(row -> containsAll(row, marked));
+        return grid.stream().anyMatch(row -> marked.containsAll(mask(row)));
     }
 
-    public boolean verifyAnyColumn(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+    public boolean verifyAnyColumn(Map<BingoColumn, List<Integer>> card, NumberSet marked) {
         if (!isValidCard(card)) return false;
         List<List<Integer>> grid = toGrid(card);
         for (int col = 0; col < 5; col++) {
@@ -372,12 +376,12 @@ public class BingoPatternVerifier {
             List<Integer> column = grid.stream()
                     .map(row -> row.get(finalCol))
                     .collect(Collectors.toList());
-            if (containsAll(column, marked)) return true;
+            if (marked.containsAll(mask(column))) return true;
         }
         return false;
     }
 
-    public boolean verifyDiagonal(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+    public boolean verifyDiagonal(Map<BingoColumn, List<Integer>> card, NumberSet marked) {
         if (!isValidCard(card)) return false;
         List<List<Integer>> grid = toGrid(card);
 
@@ -389,10 +393,10 @@ public class BingoPatternVerifier {
             antiDiag.add(grid.get(i).get(4 - i));
         }
 
-        return containsAll(mainDiag, marked) || containsAll(antiDiag, marked);
+        return marked.containsAll(mask(mainDiag)) || marked.containsAll(mask(antiDiag));
     }
 
-    public boolean verifyFourCorners(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+    public boolean verifyFourCorners(Map<BingoColumn, List<Integer>> card, NumberSet marked) {
         if (!isValidCard(card)) return false;
         List<List<Integer>> grid = toGrid(card);
         List<Integer> corners = Arrays.asList(
@@ -401,26 +405,58 @@ public class BingoPatternVerifier {
                 grid.get(4).get(0),
                 grid.get(4).get(4)
         );
-        return containsAll(corners, marked);
+        return marked.containsAll(mask(corners));
+    }
+
+    public boolean verifyFullHouse(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+        return verifyFullHouse(card, toNumberSet(marked));
+    }
+
+    public boolean verifyAnyRow(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+        return verifyAnyRow(card, toNumberSet(marked));
+    }
+
+    public boolean verifyAnyColumn(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+        return verifyAnyColumn(card, toNumberSet(marked));
+    }
+
+    public boolean verifyDiagonal(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+        return verifyDiagonal(card, toNumberSet(marked));
+    }
+
+    public boolean verifyFourCorners(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+        return verifyFourCorners(card, toNumberSet(marked));
     }
 
     // -------------------------
     // Composite patterns
     // -------------------------
 
-    public boolean verifyLine(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+    public boolean verifyLine(Map<BingoColumn, List<Integer>> card, NumberSet marked) {
         return verifyAnyRow(card, marked) || verifyAnyColumn(card, marked) || verifyDiagonal(card, marked);
     }
 
-    public boolean verifyLineOrFourCorners(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+    public boolean verifyLineOrFourCorners(Map<BingoColumn, List<Integer>> card, NumberSet marked) {
         return verifyLine(card, marked) || verifyFourCorners(card, marked);
     }
 
+    public boolean verifyLine(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+        return verifyLine(card, toNumberSet(marked));
+    }
+
+    public boolean verifyLineOrFourCorners(Map<BingoColumn, List<Integer>> card, Set<Integer> marked) {
+        return verifyLineOrFourCorners(card, toNumberSet(marked));
+    }
+
     // -------------------------
     // Pattern selector with debug logging
     // -------------------------
 
     public boolean verifyPattern(Map<BingoColumn, List<Integer>> card, Set<Integer> marked, String pattern) {
+        return verifyPattern(card, toNumberSet(marked), pattern);
+    }
+
+    public boolean verifyPattern(Map<BingoColumn, List<Integer>> card, NumberSet marked, String pattern) {
         System.out.println("=======================PATTERN===============================>>>>>: Verifying pattern " + pattern);
         System.out.println("=======================CARD===============================>>>>>: Card " + card);
         System.out.println("=======================MARKED===============================>>>>>: Marked " + marked);
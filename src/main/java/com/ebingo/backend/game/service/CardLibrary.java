@@ -0,0 +1,185 @@
+package com.ebingo.backend.game.service;
+
+import com.ebingo.backend.game.dto.CardInfo;
+import com.ebingo.backend.game.state.NumberSet;
+import com.ebingo.backend.game.utils.BingoCardGenerator;
+import com.ebingo.backend.game.utils.CardCells;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The numbered cards every game plays with, like printed bingo cards #1..#N: a room of capacity C offers
+ * cards #1..#C, and card #17 is the same card in every room and every game, so a player can keep a lucky number.
+ * <p>
+ * The library is built once from a fixed seed, skipping any card that repeats an earlier one, and is held as
+ * packed cells (see {@link CardCells}), 24 bytes per card. With {@code game.cardLibrary.file} set, the cells are
+ * memory-mapped from that file, which is written on the first start. Card ids are the card numbers.
+ */
+@Slf4j
+@Component
+public class CardLibrary implements InitializingBean {
+
+    @Value("${game.cardLibrary.size:2000}")
+    private Integer size;
+
+    @Value("${game.cardLibrary.seed:7355608}")
+    private Long seed;
+
+    @Value("${game.cardLibrary.file:}")
+    private String file;
+
+    private final Map<Integer, List<CardInfo>> pools = new ConcurrentHashMap<>();
+
+    private ByteBuffer cells;
+    private int cardCount;
+    private String version;
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        long started = System.nanoTime();
+        if (file == null || file.isBlank()) {
+            use(ByteBuffer.wrap(BingoCardGenerator.generateUniqueCardCells(seed, size)));
+        } else {
+            use(mapped(Path.of(file)));
+        }
+        log.info("Card library of {} cards loaded in {}ms", cardCount, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Number of cards in the library.
+     */
+    public int size() {
+        return cardCount;
+    }
+
+    /**
+     * Hash of the library's cells; changes whenever any card does.
+     */
+    public String version() {
+        return version;
+    }
+
+    /**
+     * Card {@code number}, counting from 1.
+     */
+    public CardInfo card(int number) {
+        if (number < 1 || number > cardCount) {
+            throw new IllegalArgumentException("No card #" + number + " in a library of " + cardCount);
+        }
+        return new CardInfo(cardId(number), CardCells.decode(cells, (number - 1) * CardCells.CELLS), NumberSet.EMPTY);
+    }
+
+    /**
+     * Cards #1..#count, capped at the size of the library. The list is decoded once per pool size and then
+     * shared, read-only, by every game of that size.
+     */
+    public List<CardInfo> cards(int count) {
+        return pools.computeIfAbsent(Math.min(Math.max(count, 0), cardCount), this::decodePool);
+    }
+
+    /**
+     * Whether the pool of {@code count} cards is already decoded.
+     */
+    boolean isPrepared(int count) {
+        return pools.containsKey(Math.min(Math.max(count, 0), cardCount));
+    }
+
+    private List<CardInfo> decodePool(int n) {
+        List<CardInfo> cards = new ArrayList<>(n);
+        for (int number = 1; number <= n; number++) {
+            CardInfo card = card(number);
+            card.setNumbers(Collections.unmodifiableMap(card.getNumbers()));
+            cards.add(card);
+        }
+        return Collections.unmodifiableList(cards);
+    }
+
+    /**
+     * Ids of cards #1..#count, capped at the size of the library.
+     */
+    public Set<String> cardIds(int count) {
+        int n = Math.min(Math.max(count, 0), cardCount);
+        Set<String> ids = new LinkedHashSet<>(n * 2);
+        for (int number = 1; number <= n; number++) {
+            ids.add(cardId(number));
+        }
+        return ids;
+    }
+
+    public static String cardId(int number) {
+        return Integer.toString(number);
+    }
+
+    /**
+     * The number of a library card id, or -1 if the id is not a card number.
+     */
+    public static int numberOf(String cardId) {
+        if (cardId == null || cardId.isEmpty() || cardId.length() > 9 || cardId.charAt(0) == '0') return -1;
+        for (int i = 0; i < cardId.length(); i++) {
+            if (!Character.isDigit(cardId.charAt(i))) return -1;
+        }
+        return Integer.parseInt(cardId);
+    }
+
+    /**
+     * Map the library file read-only, writing it from the seed first if it does not exist yet.
+     */
+    private ByteBuffer mapped(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            Path tmp = Files.createTempFile(path.toAbsolutePath().getParent(), "cards", ".tmp");
+            Files.write(tmp, BingoCardGenerator.generateUniqueCardCells(seed, size));
+            Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote card library of {} cards to {}", size, path);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private void use(ByteBuffer buffer) {
+        if (buffer.limit() % CardCells.CELLS != 0) {
+            throw new IllegalStateException("Card library has " + buffer.limit() + " bytes, not a whole number of cards");
+        }
+        long hash = 0xCBF29CE484222325L; // FNV-1a
+        for (int i = 0; i < buffer.limit(); i++) {
+            byte cell = buffer.get(i);
+            if (cell < 1 || cell > 75) {
+                throw new IllegalStateException("Card library has an invalid cell " + cell + " at byte " + i);
+            }
+            hash = (hash ^ cell) * 0x100000001B3L;
+        }
+        cells = buffer.asReadOnlyBuffer();
+        cardCount = buffer.limit() / CardCells.CELLS;
+        version = Long.toHexString(hash);
+        if (cardCount < size) {
+            log.warn("Card library has {} cards, fewer than the {} configured", cardCount, size);
+        }
+    }
+
+    /**
+     * A library over the given cells, for tests.
+     */
+    static CardLibrary of(byte[] cells) {
+        CardLibrary library = new CardLibrary();
+        library.size = cells.length / CardCells.CELLS;
+        library.use(ByteBuffer.wrap(cells));
+        return library;
+    }
+}
@@ -1,35 +1,42 @@
 package com.ebingo.backend.game.service;
 
 import com.ebingo.backend.game.dto.CardInfo;
-import com.ebingo.backend.game.repository.GameRepository;
+import com.ebingo.backend.game.dto.CardPoolPageDto;
+import com.ebingo.backend.game.entity.Room;
+import com.ebingo.backend.game.repository.RoomRepository;
+import com.ebingo.backend.game.service.state.GameStateCache;
+import com.ebingo.backend.game.state.GameState;
 import com.ebingo.backend.game.utils.BingoCardGenerator;
 import com.ebingo.backend.system.redis.RedisKeys;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveHashOperations;
 import org.springframework.data.redis.core.ReactiveSetOperations;
-import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * The cards of a room's game and the cards its players have selected. A game's pool is cards #1..#capacity
+ * of the shared {@link CardLibrary}, so nothing is generated or stored per game: the pool follows from the
+ * capacity in the game hash.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CardPoolService {
 
-    private final ReactiveStringRedisTemplate redis;
     private final ReactiveSetOperations<String, String> setOps;
-    private final ObjectMapper mapper;
-    private final GameRepository gameRepo;
+    private final ReactiveHashOperations<String, String, Object> hashOps;
+    private final GameStateCache gameStateCache;
+    private final CardLibrary cardLibrary;
+    private final RoomRepository roomRepository;
+
 
 //    public Mono<Set<CardInfo>> ensurePool(Long roomId, int capacity) {
 //        return redis.opsForValue().get(RedisKeys.currentCardPoolKey(roomId))
@@ -114,78 +121,105 @@ public class CardPoolService {
 //        return storePoolMono
 //                .then(storeCardsFlux.then(Mono.just(cards))); // return list of cards after all stored
 //    }
-    public Mono<List<CardInfo>> generateAndStoreCurrentPool(Long roomId, int capacity) {
-
-        List<CardInfo> cards = BingoCardGenerator.generateCardPool(capacity)
-                .stream()
-                .map(card -> new CardInfo(UUID.randomUUID().toString(), card, new HashSet<>()))
-                .collect(Collectors.toList());
-
-        Mono<Void> deleteMono = redis.delete(
-                RedisKeys.currentCardPoolKey(roomId),
-                RedisKeys.roomCardsSetKey(roomId)
-        ).then();
-
-        Mono<Void> storePoolMono = Mono.fromCallable(() -> mapper.writeValueAsString(cards))
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(json -> redis.opsForValue().set(RedisKeys.currentCardPoolKey(roomId), json))
-                .then();
-
-        Mono<Void> storeCardsMono = Flux.fromIterable(cards)
-                .flatMap(card ->
-                                Mono.fromCallable(() -> mapper.writeValueAsString(card))
-                                        .subscribeOn(Schedulers.boundedElastic())
-                                        .flatMap(cj ->
-                                                redis.opsForValue().set(RedisKeys.roomCardKey(roomId, card.getCardId()), cj)
-                                                        .then(redis.opsForSet().add(RedisKeys.roomCardsSetKey(roomId), card.getCardId()))
-                                        )
-                        , 10
-                )
-                .then();
-
-        return deleteMono
-                .then(storePoolMono)
-                .then(storeCardsMono)
-                .then(Mono.just(cards));
+    /**
+     * The pool of a game of the given capacity: library cards #1..#capacity.
+     */
+    public List<CardInfo> poolCards(int capacity) {
+        return cardLibrary.cards(capacity);
     }
 
+    public Set<String> poolCardIds(int capacity) {
+        return cardLibrary.cardIds(capacity);
+    }
 
-    public Mono<CardInfo> getCard(Long roomId, String cardId) {
-        return redis.opsForValue().get(RedisKeys.roomCardKey(roomId, cardId))
-                .flatMap(json -> {
-                    try {
-                        CardInfo card = mapper.readValue(json, CardInfo.class);
-                        return Mono.just(card);
-                    } catch (Exception e) {
-                        return Mono.empty(); // swallow parse error -> no card
-                    }
-                })
-                .switchIfEmpty(Mono.empty()); // no value in Redis
+    /**
+     * Version of the pool of a game of the given capacity: the library version and the pool size.
+     */
+    public String poolVersion(int capacity) {
+        return cardLibrary.version() + "-" + Math.min(Math.max(capacity, 0), cardLibrary.size());
     }
 
+    /**
+     * One page of the room's current pool; before the room's first game, the pool its capacity will get.
+     */
+    public Mono<CardPoolPageDto> getPoolPage(Long roomId, int page, int size) {
+        return poolSize(roomId)
+                .switchIfEmpty(roomRepository.findById(roomId).mapNotNull(Room::getCapacity))
+                .map(capacity -> {
+                    List<CardInfo> pool = poolCards(capacity);
+                    int from = (int) Math.min((long) page * size, pool.size());
+                    int to = Math.min(from + size, pool.size());
+                    return CardPoolPageDto.builder()
+                            .version(poolVersion(capacity))
+                            .page(page)
+                            .size(size)
+                            .totalCards(pool.size())
+                            .totalPages((pool.size() + size - 1) / size)
+                            .cards(pool.subList(from, to))
+                            .build();
+                });
+    }
 
-    public Mono<List<CardInfo>> getCurrentPool(Long roomId) {
-        return redis.opsForValue().get(RedisKeys.currentCardPoolKey(roomId))
-                .flatMap(json -> {
-                    try {
-                        List<CardInfo> cards = mapper.readValue(json, new TypeReference<List<CardInfo>>() {
-                        });
-                        return Mono.just(cards);
-                    } catch (Exception e) {
-                        return Mono.error(e);
-                    }
-                })
-                .switchIfEmpty(Mono.just(List.of())); // no pool yet
+    /**
+     * Decode the pool of every room's capacity in the background, so the first round of a room opens without
+     * decoding any cards. Pools of other sizes are decoded on first use.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preparePools() {
+        roomRepository.findAll()
+                .map(Room::getCapacity)
+                .filter(Objects::nonNull)
+                .distinct()
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(cardLibrary::cards)
+                .count()
+                .subscribe(pools -> log.info("Prepared {} card pools", pools),
+                        e -> log.warn("Failed to prepare card pools: {}", e.getMessage()));
     }
 
+    /**
+     * Look up one library card, decoded without any I/O; empty if the id is not a library card.
+     */
+    public Mono<CardInfo> getCard(Long roomId, String cardId) {
+        int number = CardLibrary.numberOf(cardId);
+        if (number > 0 && number <= cardLibrary.size()) return Mono.just(cardLibrary.card(number));
 
-    public Mono<Void> deleteCurrentCardPool(Long roomId) {
-        return redis.opsForValue().delete(RedisKeys.currentCardPoolKey(roomId)).then();
+        return Mono.empty();
     }
 
+
     public Mono<Boolean> cardExistInRoom(String cardId, Long roomId) {
-        String roomCardsSetKey = RedisKeys.roomCardsSetKey(roomId);
-        return redis.opsForSet().isMember(roomCardsSetKey, cardId);
+        int number = CardLibrary.numberOf(cardId);
+        if (number < 1) return Mono.just(false);
+
+        return poolSize(roomId)
+                .map(size -> number <= Math.min(size, cardLibrary.size()))
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * The ids among {@code cardIds} that are not in the room's pool, with one lookup for all of them.
+     */
+    public Mono<List<String>> missingCards(Long roomId, Collection<String> cardIds) {
+        return poolSize(roomId)
+                .defaultIfEmpty(0)
+                .map(size -> cardIds.stream()
+                        .filter(cardId -> {
+                            int number = CardLibrary.numberOf(cardId);
+                            return number < 1 || number > Math.min(size, cardLibrary.size());
+                        })
+                        .toList());
+    }
+
+    /**
+     * Capacity of the room's game, from the near cache when it holds the game, else from the game hash.
+     */
+    private Mono<Integer> poolSize(Long roomId) {
+        GameState cached = gameStateCache.getIfPresent(roomId);
+        if (cached != null && cached.getCapacity() != null) return Mono.just(cached.getCapacity());
+
+        return hashOps.get(RedisKeys.gameStateKey(roomId), "capacity")
+                .map(capacity -> Integer.parseInt(capacity.toString()));
     }
 
 
@@ -215,13 +249,6 @@ public class CardPoolService {
     }
 
 
-    public Mono<Set<String>> getAllCardIds(Long roomId) {
-        String roomCardsSetKey = RedisKeys.roomCardsSetKey(roomId);
-        return setOps.members(roomCardsSetKey)
-                .map(Object::toString)
-                .collect(Collectors.toCollection(HashSet::new));
-    }
-
 //    public Mono<Set<String>> getPlayerCardsIds(Long gameId, String userId) {
 //        String playerCardsKey = RedisKeys.playerCardsIdsKey(gameId, userId);
 //        return setOps.members(playerCardsKey)
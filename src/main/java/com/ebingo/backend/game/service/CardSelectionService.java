@@ -1,5 +1,6 @@
 package com.ebingo.backend.game.service;
 
+import com.ebingo.backend.game.service.state.GameStateCache;
 import com.ebingo.backend.game.service.state.PlayerStateService;
 import com.ebingo.backend.system.redis.RedisKeys;
 import io.lettuce.core.RedisCommandTimeoutException;
@@ -15,7 +16,10 @@ import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,6 +33,7 @@ public class CardSelectionService {
     private final RedisPublisher publisher;
     private final CardPoolService cardPoolService;
     private final PlayerStateService playerStateService;
+    private final GameStateCache gameStateCache;
 
 //    private static final String CLAIM_SCRIPT =
 //            "local ownerKey = KEYS[1] \n" +
@@ -489,24 +494,11 @@ public class CardSelectionService {
                                 switch (result) {
                                     case "OK":
                                         return cardPoolService.getCard(roomId, cardId)
-                                                .flatMap(card ->
-                                                        playerStateService.savePlayerCard(gameId, userId, cardId, card)
-                                                                .then(playerStateService.addPlayerCardId(gameId, userId, cardId))
-                                                                .then(playerStateService.addToAllPlayersSelectedCardsIds(gameId, cardId))
-                                                                .then(cardPoolService.addSelectedCard(gameId, cardId))
-                                                                .thenReturn("OK")
-                                                );
-
-                                    case "CARD_TAKEN":
-                                        return Mono.just("Card is already taken");
-                                    case "USER_LIMIT":
-                                        return Mono.just("You have reached the maximum number of cards");
-                                    case "USER_BUSY":
-                                        return Mono.just("Please wait before making another selection");
-                                    case "CARD_LOCKED":
-                                        return Mono.just("Card is being claimed by another user");
+                                                .flatMap(card -> playerStateService.saveClaimedCard(gameId, userId, cardId, card)
+                                                        .thenReturn("OK"));
+
                                     default:
-                                        return Mono.just("Unexpected error: " + result);
+                                        return Mono.just(claimErrorMessage(result));
                                 }
                             })
                             .onErrorResume(err -> {
@@ -517,6 +509,222 @@ public class CardSelectionService {
                 });
     }
 
+    private static String claimErrorMessage(String code) {
+        return switch (code) {
+            case "CARD_TAKEN" -> "Card is already taken";
+            case "USER_LIMIT" -> "You have reached the maximum number of cards";
+            case "USER_BUSY" -> "Please wait before making another selection";
+            case "CARD_LOCKED" -> "Card is being claimed by another user";
+            case "CARD_DOES_NOT_EXIST" -> "Card does not exist";
+            default -> "Unexpected error: " + code;
+        };
+    }
+
+
+    /**
+     * Claims all the cards of a join, or none. Cards the player already owns count as claimed, so a retried
+     * join succeeds. Every card is checked before anything is written; then ownership, the player's cards and
+     * card ids, the game's selected sets and the cache invalidation are all written in the same call.
+     * <p>
+     * KEYS: userOwned, userLock, playerCards, playerCardIds, allPlayersSelected, selectedCards, then per card
+     * its owner and lock keys. ARGV: userId, maxPerUser, cardTtl, stateTtl, lockTtl, invalidation channel and
+     * message, then per card its id and encoded card. Returns OK, or an error code and the card it is about.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_CARDS_SCRIPT = RedisScript.of("""
+            local userId = ARGV[1]
+            local firstCard = 8
+            local cards = (#ARGV - firstCard + 1) / 2
+
+            local userLocked = redis.call('set', KEYS[2], userId, 'NX', 'EX', tonumber(ARGV[5]))
+            if not userLocked and redis.call('get', KEYS[2]) ~= userId then
+                return {'USER_BUSY', ''}
+            end
+
+            local fresh = 0
+            for i = 0, cards - 1 do
+                local cardId = ARGV[firstCard + 2 * i]
+                local locker = redis.call('get', KEYS[8 + 2 * i])
+                if locker and locker ~= userId then
+                    redis.call('del', KEYS[2])
+                    return {'CARD_LOCKED', cardId}
+                end
+                local owner = redis.call('get', KEYS[7 + 2 * i])
+                if owner and owner ~= userId then
+                    redis.call('del', KEYS[2])
+                    return {'CARD_TAKEN', cardId}
+                end
+                if not owner then fresh = fresh + 1 end
+            end
+
+            if fresh > 0 and redis.call('scard', KEYS[1]) + fresh > tonumber(ARGV[2]) then
+                redis.call('del', KEYS[2])
+                return {'USER_LIMIT', ''}
+            end
+
+            for i = 0, cards - 1 do
+                local cardId = ARGV[firstCard + 2 * i]
+                redis.call('set', KEYS[7 + 2 * i], userId, 'EX', tonumber(ARGV[3]))
+                redis.call('sadd', KEYS[1], cardId)
+                redis.call('hset', KEYS[3], cardId, ARGV[firstCard + 2 * i + 1])
+                redis.call('sadd', KEYS[4], cardId)
+                redis.call('sadd', KEYS[5], cardId)
+                redis.call('sadd', KEYS[6], cardId)
+            end
+            for k = 3, 5 do
+                redis.call('expire', KEYS[k], tonumber(ARGV[4]))
+            end
+            redis.call('publish', ARGV[6], ARGV[7])
+            redis.call('del', KEYS[2])
+            return {'OK', ''}
+            """, List.class);
+
+    /**
+     * Outcome of {@link #claimCards}: OK, or the error message and the cards it is about.
+     */
+    public record CardsClaim(String result, List<String> failedCards) {
+        public boolean ok() {
+            return "OK".equals(result);
+        }
+    }
+
+    public Mono<CardsClaim> claimCards(Long roomId, Long gameId, String userId, Collection<String> cardIds, int maxCardsPerPlayer) {
+        List<String> cards = List.copyOf(new LinkedHashSet<>(cardIds));
+        if (cards.isEmpty()) return Mono.just(new CardsClaim("OK", List.of()));
+
+        final int lockTtlSeconds = 10;
+        final int cardTtlSeconds = 600;
+
+        return cardPoolService.missingCards(roomId, cards)
+                .flatMap(missing -> {
+                    if (!missing.isEmpty()) {
+                        return Mono.just(new CardsClaim(claimErrorMessage("CARD_DOES_NOT_EXIST"), missing));
+                    }
+                    return Flux.fromIterable(cards)
+                            .concatMap(cardId -> cardPoolService.getCard(roomId, cardId))
+                            .collectList()
+                            .flatMap(cardInfos -> {
+                                List<String> keys = joinKeys(gameId, userId);
+                                List<String> args = new ArrayList<>(List.of(
+                                        userId,
+                                        String.valueOf(maxCardsPerPlayer),
+                                        String.valueOf(cardTtlSeconds),
+                                        String.valueOf(PlayerStateService.PLAYER_STATE_TTL.toSeconds()),
+                                        String.valueOf(lockTtlSeconds),
+                                        RedisKeys.gameStateInvalidationChannel(),
+                                        "game:" + gameId));
+                                cardInfos.forEach(card -> {
+                                    keys.add(RedisKeys.cardOwnerKey(gameId, card.getCardId()));
+                                    keys.add(RedisKeys.cardLockKey(gameId, card.getCardId()));
+                                    args.add(card.getCardId());
+                                    args.add(PlayerStateService.encodeCard(card));
+                                });
+
+                                return redis.execute(CLAIM_CARDS_SCRIPT, keys, args).next();
+                            })
+                            .map(reply -> {
+                                String code = reply.get(0).toString();
+                                if ("OK".equals(code)) {
+                                    gameStateCache.evictGameLocally(gameId);
+                                    return new CardsClaim("OK", List.of());
+                                }
+                                String cardId = reply.size() > 1 ? reply.get(1).toString() : "";
+                                return new CardsClaim(claimErrorMessage(code), cardId.isEmpty() ? cards : List.of(cardId));
+                            });
+                })
+                .onErrorResume(err -> {
+                    log.error("Error claiming cards {} for user {} room {}: {}", cards, userId, roomId, err.getMessage(), err);
+                    return Mono.just(new CardsClaim("Internal server error", cards));
+                });
+    }
+
+    /**
+     * Releases the cards of a join in one call, undoing everything {@link #claimCards} wrote for them: ownership,
+     * the player's cards and card ids, the game's selected sets, and the cache invalidation. Cards the player
+     * does not own are skipped.
+     * <p>
+     * KEYS: as for {@link #claimCards}, then per card its owner key. ARGV: userId, lockTtl, invalidation channel
+     * and message, then the card ids. Returns OK followed by the released card ids, or USER_BUSY.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RELEASE_CARDS_SCRIPT = RedisScript.of("""
+            local userId = ARGV[1]
+            local firstCard = 5
+
+            local userLocked = redis.call('set', KEYS[2], userId, 'NX', 'EX', tonumber(ARGV[2]))
+            if not userLocked and redis.call('get', KEYS[2]) ~= userId then
+                return {'USER_BUSY'}
+            end
+
+            local released = {'OK'}
+            for i = 0, #ARGV - firstCard do
+                local cardId = ARGV[firstCard + i]
+                if redis.call('get', KEYS[7 + i]) == userId then
+                    redis.call('del', KEYS[7 + i])
+                    redis.call('srem', KEYS[1], cardId)
+                    redis.call('hdel', KEYS[3], cardId)
+                    redis.call('srem', KEYS[4], cardId)
+                    redis.call('srem', KEYS[5], cardId)
+                    redis.call('srem', KEYS[6], cardId)
+                    released[#released + 1] = cardId
+                end
+            end
+            if #released > 1 then
+                redis.call('publish', ARGV[3], ARGV[4])
+            end
+            redis.call('del', KEYS[2])
+            return released
+            """, List.class);
+
+    public Mono<Void> releaseCards(Long roomId, Long gameId, String userId, Collection<String> cardIds) {
+        List<String> cards = List.copyOf(new LinkedHashSet<>(cardIds));
+        if (cards.isEmpty()) return Mono.empty();
+
+        final int lockTtlSeconds = 5;
+
+        List<String> keys = joinKeys(gameId, userId);
+        List<String> args = new ArrayList<>(List.of(
+                userId,
+                String.valueOf(lockTtlSeconds),
+                RedisKeys.gameStateInvalidationChannel(),
+                "game:" + gameId));
+        cards.forEach(cardId -> {
+            keys.add(RedisKeys.cardOwnerKey(gameId, cardId));
+            args.add(cardId);
+        });
+
+        return redis.execute(RELEASE_CARDS_SCRIPT, keys, args)
+                .next()
+                .flatMap(reply -> {
+                    String code = reply.get(0).toString();
+                    if (!"OK".equals(code)) {
+                        return Mono.error(new IllegalStateException(
+                                "Failed to release cards " + cards + " of user " + userId + ": " + code));
+                    }
+                    gameStateCache.evictGameLocally(gameId);
+
+                    List<String> released = ((List<?>) reply).subList(1, reply.size()).stream().map(Object::toString).toList();
+                    if (released.isEmpty()) return Mono.<Void>empty();
+                    return cardPoolService.getSelectedCards(gameId)
+                            .flatMap(selectedCards -> Flux.fromIterable(released)
+                                    .concatMap(cardId -> publishCardReleased(roomId, cardId, userId, selectedCards))
+                                    .then());
+                });
+    }
+
+    /**
+     * The keys a join's cards are written under, before the per-card ones.
+     */
+    private static List<String> joinKeys(Long gameId, String userId) {
+        return new ArrayList<>(List.of(
+                RedisKeys.userOwnedCardsKey(gameId, userId),
+                RedisKeys.userLockKey(gameId, userId),
+                RedisKeys.playerCardsKey(gameId, userId),
+                RedisKeys.playerCardsIdsKey(gameId, userId),
+                RedisKeys.allPlayersSelectedCardsIdsKey(gameId),
+                RedisKeys.selectedCardsKey(gameId)));
+    }
+
 
 //    private static final String RELEASE_SCRIPT =
 //            "local ownerKey = KEYS[1] \n" +
@@ -3,8 +3,10 @@ package com.ebingo.backend.game.service;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
@@ -12,6 +14,14 @@ public class GameMetrics {
     private final Counter cardSelections;
     private final Counter claims;
     private final Gauge activeGames;
+    private final Counter gameStateCacheHits;
+    private final Counter gameStateCacheMisses;
+    private final Counter gameStateCasRetries;
+    private final Counter gameEventsPersisted;
+    private final Counter gameRowsFlushed;
+    private final Timer staleSweepDuration;
+    private final Counter staleGamesSwept;
+    private final Counter staleKeysReclaimed;
 
     private final AtomicInteger activeGamesCount = new AtomicInteger(0);
 
@@ -19,10 +29,28 @@ public class GameMetrics {
         this.cardSelections = Counter.builder("bingo_card_selections").register(registry);
         this.claims = Counter.builder("bingo_claims").register(registry);
         this.activeGames = Gauge.builder("bingo_active_games", activeGamesCount, AtomicInteger::get).register(registry);
+        this.gameStateCacheHits = Counter.builder("bingo_game_state_cache_hits").register(registry);
+        this.gameStateCacheMisses = Counter.builder("bingo_game_state_cache_misses").register(registry);
+        this.gameStateCasRetries = Counter.builder("bingo_game_state_cas_retries").register(registry);
+        this.gameEventsPersisted = Counter.builder("bingo_game_events_persisted").register(registry);
+        this.gameRowsFlushed = Counter.builder("bingo_game_rows_flushed").register(registry);
+        this.staleSweepDuration = Timer.builder("bingo_stale_sweep_duration").register(registry);
+        this.staleGamesSwept = Counter.builder("bingo_stale_games_swept").register(registry);
+        this.staleKeysReclaimed = Counter.builder("bingo_stale_keys_reclaimed").register(registry);
     }
 
     public void incSelections() { cardSelections.increment(); }
     public void incClaims() { claims.increment(); }
     public void setActiveGames(int count) { activeGamesCount.set(count); }
+    public void incGameStateCacheHit() { gameStateCacheHits.increment(); }
+    public void incGameStateCacheMiss() { gameStateCacheMisses.increment(); }
+    public void incGameStateCasRetry() { gameStateCasRetries.increment(); }
+    public void incGameEventsPersisted(long count) { gameEventsPersisted.increment(count); }
+    public void incGameRowsFlushed(long count) { gameRowsFlushed.increment(count); }
+    public void recordStaleSweep(Duration duration, long gamesSwept, long keysReclaimed) {
+        staleSweepDuration.record(duration);
+        staleGamesSwept.increment(gamesSwept);
+        staleKeysReclaimed.increment(keysReclaimed);
+    }
 }
 
@@ -3,19 +3,21 @@ package com.ebingo.backend.game.service;
 import com.ebingo.backend.game.dto.BingoClaimDto;
 import com.ebingo.backend.game.dto.CardInfo;
 import com.ebingo.backend.game.dto.GameEndResponse;
-import com.ebingo.backend.game.entity.Game;
 import com.ebingo.backend.game.entity.Room;
 import com.ebingo.backend.game.enums.BingoColumn;
 import com.ebingo.backend.game.enums.GamePattern;
 import com.ebingo.backend.game.enums.GameStatus;
 import com.ebingo.backend.game.mappers.GameEndResponseMapper;
-import com.ebingo.backend.game.mappers.GameMapper;
-import com.ebingo.backend.game.repository.GameRepository;
 import com.ebingo.backend.game.repository.RoomRepository;
+import com.ebingo.backend.game.service.cluster.DrawingLeaseService;
+import com.ebingo.backend.game.service.journal.GameEventJournal;
+import com.ebingo.backend.game.service.state.GameStateCache;
 import com.ebingo.backend.game.service.state.GameStateService;
 import com.ebingo.backend.game.service.state.PlayerCleanupService;
 import com.ebingo.backend.game.service.state.PlayerStateService;
 import com.ebingo.backend.game.state.GameState;
+import com.ebingo.backend.game.state.GameStateFacet;
+import com.ebingo.backend.game.state.NumberSet;
 import com.ebingo.backend.payment.dto.GameTransactionDto;
 import com.ebingo.backend.payment.enums.GameTxnType;
 import com.ebingo.backend.payment.service.GameTransactionService;
@@ -29,15 +31,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.connection.ReactiveSubscription;
 import org.springframework.data.redis.core.ReactiveSetOperations;
 import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
-import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
 import reactor.core.scheduler.Schedulers;
-import reactor.util.retry.Retry;
 
 import java.math.BigDecimal;
 import java.time.Duration;
@@ -47,6 +46,9 @@ import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 @Service
 //@RequiredArgsConstructor
@@ -67,14 +69,21 @@ public class GameService {
     private final BingoClaimService bingoClaimService;
     private final ObjectMapper objectMapper;
     private final GameTransactionService gameTransactionService;
-    private final GameRepository gameRepository;
+    private final GameWriteBehind gameWriteBehind;
     private final RoomRepository roomRepository;
     private final CardSelectionService cardSelectionService;
+    private final RoomTickScheduler roomTickScheduler;
+    private final DrawingLeaseService drawingLeaseService;
+    private final RoomActorRegistry roomActors;
+    private final GameStateCache gameStateCache;
+    private final GameEventJournal gameEventJournal;
 
 
-    // Stop signal sinks per room
-    private final Map<Long, MonoSink<Void>> stopLoopSinks = new ConcurrentHashMap<>();
+    // Draw loops currently driven by this node, per room
+    private final Map<Long, DrawLoop> drawLoops = new ConcurrentHashMap<>();
     private final Set<Long> subscribedRooms = ConcurrentHashMap.newKeySet();
+    // Rooms whose countdown timer is armed on this node
+    private final Set<Long> armedCountdowns = ConcurrentHashMap.newKeySet();
 
 
     @Value("${game.draw.intervalInSeconds:5}")
@@ -83,7 +92,7 @@ public class GameService {
     @Value("${game.countdown.initialInSeconds:30}")
     private Integer initialCountdownSeconds;
 
-    public GameService(RedisPublisher publisher, CardPoolService cardPoolService, BingoPatternVerifier patternVerifier, PlayerStateService playerStateService, GameStateService gameStateService, PaymentService paymentService, ReactiveSetOperations<String, String> setOps, PlayerCleanupService playerCleanupService, ReactiveStringRedisTemplate reactiveRedisTemplate1, ReactiveRedisMessageListenerContainer redisListenerContainer, BingoClaimService bingoClaimService, ObjectMapper objectMapper, GameTransactionService gameTransactionService, GameRepository gameRepository, RoomRepository roomRepository, CardSelectionService cardSelectionService) {
+    public GameService(RedisPublisher publisher, CardPoolService cardPoolService, BingoPatternVerifier patternVerifier, PlayerStateService playerStateService, GameStateService gameStateService, PaymentService paymentService, ReactiveSetOperations<String, String> setOps, PlayerCleanupService playerCleanupService, ReactiveStringRedisTemplate reactiveRedisTemplate1, ReactiveRedisMessageListenerContainer redisListenerContainer, BingoClaimService bingoClaimService, ObjectMapper objectMapper, GameTransactionService gameTransactionService, GameWriteBehind gameWriteBehind, RoomRepository roomRepository, CardSelectionService cardSelectionService, RoomTickScheduler roomTickScheduler, DrawingLeaseService drawingLeaseService, RoomActorRegistry roomActors, GameStateCache gameStateCache, GameEventJournal gameEventJournal) {
         this.publisher = publisher;
         this.cardPoolService = cardPoolService;
         this.patternVerifier = patternVerifier;
@@ -97,9 +106,14 @@ public class GameService {
         this.bingoClaimService = bingoClaimService;
         this.objectMapper = objectMapper;
         this.gameTransactionService = gameTransactionService;
-        this.gameRepository = gameRepository;
+        this.gameWriteBehind = gameWriteBehind;
         this.roomRepository = roomRepository;
         this.cardSelectionService = cardSelectionService;
+        this.roomTickScheduler = roomTickScheduler;
+        this.drawingLeaseService = drawingLeaseService;
+        this.roomActors = roomActors;
+        this.gameStateCache = gameStateCache;
+        this.gameEventJournal = gameEventJournal;
     }
 
     /**
@@ -169,110 +183,121 @@ public class GameService {
 
 
 //    =========================================================
+    /**
+     * Join a player with their selected cards. Runs outside the room's actor: the membership and card changes,
+     * and their rollback, are sent to the actor, while the payment call is made between them so a slow payment
+     * provider does not hold up the room's other commands and timers.
+     */
     public Mono<Void> playerJoin(Long roomId, Long gameId, String userId, Integer capacity,
                                  BigDecimal entryFee, List<String> selectedCardIds) {
 
         log.info("===== USER {} SELECTED CARDS FOR GAME {} ===== {}", userId, gameId, selectedCardIds);
 
-        String playersKey = RedisKeys.gamePlayersKey(gameId);
+        AtomicBoolean cardsClaimed = new AtomicBoolean(false);
         AtomicBoolean paymentCompleted = new AtomicBoolean(false);
 
-        return setOps.add(playersKey, userId) // SADD
+        return roomActors.ask(roomId, () -> claimJoin(roomId, gameId, userId, capacity, selectedCardIds, cardsClaimed))
+                .then(Mono.defer(() -> {
+                    if (!cardsClaimed.get()) return Mono.empty();
+
+                    // 2️⃣ All claims succeeded → Process payment
+                    return paymentService.processPayment(Long.parseLong(userId), entryFee, gameId)
+                            .flatMap(paymentSuccess -> {
+                                if (!paymentSuccess) {
+                                    log.warn("Payment failed for user {} in game {}", userId, gameId);
+
+                                    // 3️⃣ Payment failed → release all claimed cards & refund
+                                    return roomActors.ask(roomId, () -> rollbackJoin(roomId, gameId, userId, selectedCardIds))
+                                            .then(paymentService.processRefund(Long.parseLong(userId), gameId)
+                                                    .onErrorResume(err -> {
+                                                        log.error("Refund failed for user {}: {}", userId, err.getMessage(), err);
+                                                        return Mono.empty();
+                                                    }))
+                                            .then(publisher.publishUserEvent(userId, Map.of(
+                                                    "type", "error",
+                                                    "payload", Map.of(
+                                                            "eventType", "game.playerJoinRequest",
+                                                            "errorType", "paymentFailed",
+                                                            "message", "Payment failed for user " + userId,
+                                                            "amount", entryFee
+                                                    )
+                                            )))
+                                            .then(Mono.error(new PaymentFailedException(Long.parseLong(userId), entryFee)));
+                                }
+
+                                // ✅ Payment success → complete join
+                                paymentCompleted.set(true);
+                                log.info("Payment successful for user {} in game {}", userId, gameId);
+                                return roomActors.ask(roomId, () -> afterSuccessfulJoin(roomId, gameId, userId, capacity, selectedCardIds));
+                            })
+                            .onErrorResume(error -> {
+                                log.error("Unexpected error during payment for user {}: {}", userId, error.getMessage(), error);
+
+                                if (paymentCompleted.get()) {
+                                    return paymentService.processRefund(Long.parseLong(userId), gameId)
+                                            .onErrorResume(refundErr -> {
+                                                log.error("Refund failed for user {}: {}", userId, refundErr.getMessage(), refundErr);
+                                                return Mono.empty();
+                                            })
+                                            .then(roomActors.ask(roomId, () -> rollbackJoin(roomId, gameId, userId, selectedCardIds)));
+                                }
+
+                                // If payment not completed → release cards, remove user
+                                return roomActors.ask(roomId, () -> rollbackJoin(roomId, gameId, userId, selectedCardIds));
+                            });
+                }));
+    }
+
+    /**
+     * Add the player and claim their cards, as one message of the room's actor. Sets {@code cardsClaimed} when
+     * the join still needs its payment.
+     */
+    private Mono<Void> claimJoin(Long roomId, Long gameId, String userId, Integer capacity,
+                                 List<String> selectedCardIds, AtomicBoolean cardsClaimed) {
+        return gameStateService.addGamePlayer(gameId, userId)
                 .flatMap(added -> {
                     if (added == 0L) {
                         log.info("User {} already joined game {}", userId, gameId);
                         return afterSuccessfulJoin(roomId, gameId, userId, capacity, selectedCardIds);
                     }
 
-                    // 1️⃣ Claim all cards in parallel
-                    return Flux.fromIterable(selectedCardIds)
-                            .flatMap(cardId ->
-                                    cardSelectionService.claimCard(roomId, gameId, userId, cardId, 2)
-                                            .map(result -> Map.entry(cardId, result))
-                            )
-                            .collectList()
-                            .flatMap(results -> {
-                                // Check if any claim failed
-                                List<Map.Entry<String, String>> failed = results.stream()
-                                        .filter(e -> !"OK".equals(e.getValue()))
-                                        .toList();
-
-                                if (!failed.isEmpty()) {
-                                    String firstError = failed.get(0).getValue();
-                                    log.warn("Card claim failed for user {} in game {}: {}", userId, gameId, firstError);
+                    // 1️⃣ Claim all cards at once; none are claimed if any of them can't be
+                    return cardSelectionService.claimCards(roomId, gameId, userId, selectedCardIds, 2)
+                            .flatMap(claim -> {
+                                if (!claim.ok()) {
+                                    log.warn("Card claim failed for user {} in game {}: {}", userId, gameId, claim.result());
 
                                     // Notify user about the error via WebSocket
                                     return publisher.publishUserEvent(userId, Map.of(
                                                     "type", "error",
                                                     "payload", Map.of(
                                                             "eventType", "game.playerJoinRequest",
-                                                            "message", firstError,
-                                                            "failedCards", failed.stream().map(Map.Entry::getKey).toList()
+                                                            "message", claim.result(),
+                                                            "failedCards", claim.failedCards()
                                                     )
                                             ))
                                             // Rollback membership since they never joined successfully
-                                            .then(setOps.remove(playersKey, userId))
+                                            .then(gameStateService.removeGamePlayer(gameId, userId))
                                             .then();
                                 }
 
-                                // 2️⃣ All claims succeeded → Process payment
                                 log.info("All cards claimed successfully for user {} in game {}. Proceeding with payment...", userId, gameId);
-                                return paymentService.processPayment(Long.parseLong(userId), entryFee, gameId)
-                                        .flatMap(paymentSuccess -> {
-                                            if (!paymentSuccess) {
-                                                log.warn("Payment failed for user {} in game {}", userId, gameId);
-
-                                                // 3️⃣ Payment failed → release all claimed cards & refund
-                                                return Flux.fromIterable(selectedCardIds)
-                                                        .flatMap(cardId -> cardSelectionService.releaseCard(roomId, gameId, userId, cardId))
-                                                        .then(paymentService.processRefund(Long.parseLong(userId), gameId)
-                                                                .onErrorResume(err -> {
-                                                                    log.error("Refund failed for user {}: {}", userId, err.getMessage(), err);
-                                                                    return Mono.empty();
-                                                                }))
-                                                        .then(setOps.remove(playersKey, userId))
-                                                        .then(publisher.publishUserEvent(userId, Map.of(
-                                                                "type", "error",
-                                                                "payload", Map.of(
-                                                                        "eventType", "game.playerJoinRequest",
-                                                                        "errorType", "paymentFailed",
-                                                                        "message", "Payment failed for user " + userId,
-                                                                        "amount", entryFee
-                                                                )
-                                                        )))
-                                                        .then(Mono.error(new PaymentFailedException(Long.parseLong(userId), entryFee)));
-                                            }
-
-                                            // ✅ Payment success → complete join
-                                            paymentCompleted.set(true);
-                                            log.info("Payment successful for user {} in game {}", userId, gameId);
-                                            return afterSuccessfulJoin(roomId, gameId, userId, capacity, selectedCardIds);
-                                        })
-                                        .onErrorResume(error -> {
-                                            log.error("Unexpected error during payment for user {}: {}", userId, error.getMessage(), error);
-
-                                            if (paymentCompleted.get()) {
-                                                return paymentService.processRefund(Long.parseLong(userId), gameId)
-                                                        .onErrorResume(refundErr -> {
-                                                            log.error("Refund failed for user {}: {}", userId, refundErr.getMessage(), refundErr);
-                                                            return Mono.empty();
-                                                        })
-                                                        .then(Flux.fromIterable(selectedCardIds)
-                                                                .flatMap(cardId -> cardSelectionService.releaseCard(roomId, gameId, userId, cardId))
-                                                                .then(setOps.remove(playersKey, userId))
-                                                                .then());
-                                            }
-
-                                            // If payment not completed → release cards, remove user
-                                            return Flux.fromIterable(selectedCardIds)
-                                                    .flatMap(cardId -> cardSelectionService.releaseCard(roomId, gameId, userId, cardId))
-                                                    .then(setOps.remove(playersKey, userId))
-                                                    .then();
-                                        });
+                                cardsClaimed.set(true);
+                                return Mono.<Void>empty();
                             });
                 });
     }
 
+    /**
+     * Undo a join whose payment did not go through: release all the player's cards in one call, then remove them
+     * from the game. If the release fails nothing was released and the player stays in.
+     */
+    private Mono<Void> rollbackJoin(Long roomId, Long gameId, String userId, List<String> selectedCardIds) {
+        return cardSelectionService.releaseCards(roomId, gameId, userId, selectedCardIds)
+                .then(gameStateService.removeGamePlayer(gameId, userId))
+                .then();
+    }
+
 //    ======================================================================
 
     /**
@@ -298,55 +323,23 @@ public class GameService {
      * Steps to perform after a successful payment and join.
      */
 
-    /**
-     * Release the countdown lock
-     *
-     * @param redisTemplate
-     * @param lockKey
-     * @return
-     */
-    public Mono<Boolean> releaseCountdownLock(ReactiveStringRedisTemplate redisTemplate, String lockKey) {
-        // Lua script: only delete the key if it exists (simple release)
-        String luaScript = """
-                if redis.call('EXISTS', KEYS[1]) == 1 then
-                    return redis.call('DEL', KEYS[1])
-                else
-                    return 0
-                end
-                """;
-
-        RedisScript<Long> script = RedisScript.of(luaScript, Long.class);
-
-        return redisTemplate.execute(script, List.of(lockKey))
-                .next()
-                .map(result -> result != null && result > 0)
-                .doOnNext(released -> {
-                    if (released) {
-                        log.info("Countdown lock {} released", lockKey);
-                    } else {
-                        log.info("Countdown lock {} was not held", lockKey);
-                    }
-                });
-    }
-
-
     private Mono<Void> afterSuccessfulJoin(Long roomId, Long gameId, String userId, Integer capacity, List<String> selectedCardIds) {
         log.info("afterSuccessfulJoin: user {} joined game {}", userId, gameId);
 
-        return gameStateService.getGameState(roomId)
+        return gameStateService.getGameState(roomId, EnumSet.of(GameStateFacet.PLAYERS))
                 .flatMap(state -> {
                     log.debug("Game state retrieved: {}", state);
 
                     Set<String> joinedPlayers = Optional.ofNullable(state.getJoinedPlayers()).orElse(Set.of());
                     int playersCount = joinedPlayers.size();
 
-                    return broadcastPlayerJoin(roomId, userId, joinedPlayers, playersCount, selectedCardIds)
+                    return broadcastPlayerJoin(roomId, gameId, userId, joinedPlayers, playersCount, selectedCardIds)
                             .then(startCountdownIfEligible(state, roomId, gameId, userId, capacity, playersCount));
                 });
     }
 
 
-    private Mono<Void> broadcastPlayerJoin(Long roomId, String userId, Set<String> joinedPlayers, int playersCount, List<String> selectedCardIds) {
+    private Mono<Void> broadcastPlayerJoin(Long roomId, Long gameId, String userId, Set<String> joinedPlayers, int playersCount, List<String> selectedCardIds) {
         Map<String, Object> payload = Map.of(
                 "type", "game.playerJoined",
                 "payload", Map.of(
@@ -357,7 +350,7 @@ public class GameService {
                 )
         );
 
-        return publisher.publishEvent(RedisKeys.roomChannel(roomId), payload)
+        return publishGameEvent(gameId, roomId, payload)
                 .doOnSuccess(id -> log.debug("Broadcasted player join event to room {}", roomId))
                 .then();
     }
@@ -380,43 +373,10 @@ public class GameService {
                     }
 
                     log.info("Starting countdown for game {}", gameId);
-                    String countdownLockKey = RedisKeys.countdownLockKey(gameId);
-
-                    // Lua script with TTL (EX seconds)
-                    RedisScript<Long> acquireLockScript = RedisScript.of("""
-                            if redis.call('exists', KEYS[1]) == 0 then
-                                redis.call('set', KEYS[1], ARGV[1], 'EX', ARGV[2])
-                                return 1
-                            else
-                                return 0
-                            end
-                            """, Long.class);
-
-                    // TTL in seconds — you can adjust this safely (e.g. 60)
-                    String lockTTL = "60";
-
-                    return reactiveRedisTemplate.execute(acquireLockScript, List.of(countdownLockKey), "locked", lockTTL)
-                            .next()
-                            .cast(Long.class)
-                            .flatMap(acquired -> {
-                                if (acquired != null && acquired == 1) {
-                                    log.info("Countdown lock acquired for game {}", gameId);
-
-                                    return startCountdownByGameId(roomId, gameId, userId, capacity, initialCountdownSeconds)
-                                            // Release lock after countdown completes
-                                            .then(releaseCountdownLock(reactiveRedisTemplate, countdownLockKey))
-                                            .doOnError(err -> log.error("Countdown failed for game {}", gameId, err))
-                                            .onErrorResume(err ->
-                                                    releaseCountdownLock(reactiveRedisTemplate, countdownLockKey)
-                                                            .then(Mono.error(err))
-                                            );
-                                } else {
-                                    log.info("Countdown already started for game {}", gameId);
-                                    return Mono.empty();
-                                }
-                            })
+
+                    return startCountdownByGameId(roomId, gameId, userId, capacity, initialCountdownSeconds)
                             .onErrorResume(err -> {
-                                log.error("Error acquiring countdown lock for game {}", gameId, err);
+                                log.error("Countdown failed for game {}", gameId, err);
                                 return Mono.empty();
                             });
                 })
@@ -426,7 +386,7 @@ public class GameService {
 
     public Mono<Void> leaveGame(Long roomId, Long gameId, String userId) {
         System.out.println("User " + userId + " is leaving game " + gameId);
-        return gameStateService.getGameState(roomId)
+        return gameStateService.getGameMeta(roomId)
                 .flatMap(state -> {
                     if (state == null) {
                         return publisher.publishUserEvent(userId,
@@ -443,7 +403,6 @@ public class GameService {
                                 )).then();
                     }
 
-                    String playersKey = RedisKeys.gamePlayersKey(state.getGameId());
                     String roomPlayersKey = RedisKeys.roomPlayersKey(roomId);
 
                     boolean gameStarted = state.isStarted();
@@ -509,7 +468,7 @@ public class GameService {
                     }
 
                     // Game not started → attempt SREM
-                    return setOps.remove(playersKey, userId)
+                    return gameStateService.removeGamePlayer(gameId, userId)
                             .flatMap(removed -> {
                                 // Explicitly check if user was in the game
                                 if (removed == 0) {
@@ -536,15 +495,16 @@ public class GameService {
                                                 refunded ? "succeeded" : "failed", userId, gameId));
 
                                 // Broadcast updated players
-                                Mono<Long> broadcastPlayers = gameStateService.getGameState(roomId)
+                                Mono<Long> broadcastPlayers = gameStateService.getGameState(roomId, EnumSet.of(GameStateFacet.PLAYERS))
                                         .flatMap(updatedState -> {
                                             Set<String> players = updatedState.getJoinedPlayers();
                                             int playersCount = players.size();
 
                                             return playerCleanupService.removePlayerFromGame(roomId, gameId, userId)
                                                     .flatMap(cardIds -> {
-                                                        return publisher.publishEvent(
-                                                                RedisKeys.roomChannel(roomId),
+                                                        return publishGameEvent(
+                                                                gameId,
+                                                                roomId,
                                                                 Map.of(
                                                                         "type", "game.playerLeft",
                                                                         "payload", Map.of(
@@ -582,84 +542,147 @@ public class GameService {
 
 
     /**
-     * Start countdown for a game
+     * Start countdown for a game.
+     * <p>
+     * The countdown is a single deadline: it is stored with the game state and in the pending countdowns
+     * set, then armed on the {@link RoomTickScheduler}. Nothing stays subscribed while it runs, and
+     * clients get one {@code game.countdown} event with the server time so they can render the ticks.
+     * Only the caller whose compare-and-set moves the game from READY to COUNTDOWN goes on to arm it.
      */
     public Mono<Void> startCountdownByGameId(Long roomId, Long gameId, String userId, Integer capacity, int countdownSeconds) {
-        Instant countdownEndTime = Instant.now().plusSeconds(countdownSeconds);
-        Mono<Boolean> updateGameState = gameStateService.getGameState(roomId)
-                .flatMap(state -> {
-                    // Update countdown end time and status
-                    state.setCountdownEndTime(countdownEndTime);
-                    state.setStatus(GameStatus.COUNTDOWN);
-                    state.setStatusUpdatedAt(Instant.now());
-                    return gameStateService.saveGameStateToRedis(state, roomId);
-                });
+        Instant now = Instant.now();
+        Instant countdownEndTime = now.plusSeconds(countdownSeconds);
+        Mono<GameState> updateGameState = gameStateService.updateGameState(roomId, state -> {
+            if (state.isStarted() || !GameStatus.READY.equals(state.getStatus())) {
+                return false;
+            }
+            // Update countdown end time and status
+            state.setCountdownEndTime(countdownEndTime);
+            state.setStatus(GameStatus.COUNTDOWN);
+            state.setStatusUpdatedAt(now);
+            return true;
+        });
+
+        // Persist the deadline so another node can re-arm it if this one goes away
+        Mono<Boolean> persistDeadline = reactiveRedisTemplate.opsForZSet()
+                .add(RedisKeys.pendingCountdownsKey(), roomId.toString(), countdownEndTime.toEpochMilli());
 
         // Publish countdown start event (only once)
-        Mono<Long> countdownEvent = publisher.publishEvent(
-                RedisKeys.roomChannel(roomId),
+        Mono<Long> countdownEvent = publishGameEvent(
+                gameId,
+                roomId,
                 Map.of(
                         "type", "game.countdown",
                         "payload", Map.of(
                                 "roomId", roomId,
                                 "gameId", gameId,
                                 "seconds", countdownSeconds,
-                                "countdownEndTime", countdownEndTime.toString()
+                                "countdownEndTime", countdownEndTime.toString(),
+                                "serverTime", now.toString()
                         )
                 )
         );
 
-        // Run countdown internally, then conditionally start game
+        return updateGameState
+                .flatMap(state -> persistDeadline
+                        .then(countdownEvent)
+                        .then(Mono.fromRunnable(() -> armCountdown(roomId, gameId, userId, capacity, countdownEndTime))))
+                .then();
+    }
 
-        return getMinPlayersToStart(roomId)
-                .flatMap(minPlayersToStart -> {
-                    return updateGameState
-                            .then(countdownEvent)
-                            .thenMany(
-                                    Flux.range(0, countdownSeconds)
-                                            .delayElements(Duration.ofSeconds(1))
-                                            .doOnNext(sec -> log.debug("Countdown {} / {}", sec + 1, countdownSeconds))
-                            )
-                            .then(
-                                    // After countdown, check player count again before starting
-                                    Mono.defer(() ->
-                                            gameStateService.getAllPlayers(gameId)
-                                                    .flatMap(state -> {
-                                                        int playersCount = state.size();
-                                                        log.info("Countdown finished. Players: {} / min: {}", playersCount, minPlayersToStart);
-                                                        if (playersCount >= minPlayersToStart) {
-                                                            return startGame(gameId, roomId, userId, capacity);
-                                                        } else {
-                                                            log.warn("Not enough players after countdown. Game {} will not start.", gameId);
-
-                                                            return gameStateService.getGameState(roomId)
-                                                                    .flatMap(gState -> {
-                                                                        // Reset game state to READY
-                                                                        gState.setStatus(GameStatus.READY);
-                                                                        gState.setCountdownEndTime(null);
-                                                                        gState.setStatusUpdatedAt(Instant.now());
-                                                                        return gameStateService.saveGameStateToRedis(gState, roomId)
-                                                                                .then(updateGameToDatabase(gState))
-                                                                                .then(publisher.publishEvent(
-                                                                                        RedisKeys.roomChannel(roomId),
-                                                                                        Map.of(
-                                                                                                "type", "game.notEnoughPlayers",
-                                                                                                "payload", Map.of(
-                                                                                                        "roomId", roomId,
-                                                                                                        "gameId", gameId,
-                                                                                                        "status", gState.getStatus(),
-                                                                                                        "joinedPlayers", gState.getJoinedPlayers(),
-                                                                                                        "playersCount", playersCount
-                                                                                                )
-                                                                                        )
-                                                                                ));
-                                                                    }).then();
-                                                        }
-                                                    })
-                                    )
-                            );
-                }).then();
+    /**
+     * Re-arm a persisted countdown on this node, e.g. after its previous owner restarted or the room moved here.
+     * Deadlines that already passed fire right away.
+     */
+    public Mono<Void> resumeCountdown(Long roomId) {
+        if (roomTickScheduler.isScheduled(roomId, RoomTickScheduler.TimerKind.COUNTDOWN)) {
+            return Mono.empty();
+        }
+
+        return gameStateService.getGameMeta(roomId)
+                .flatMap(state -> {
+                    if (!GameStatus.COUNTDOWN.equals(state.getStatus()) || state.getCountdownEndTime() == null) {
+                        log.info("Dropping stale countdown for room {} (status {})", roomId, state.getStatus());
+                        return reactiveRedisTemplate.opsForZSet().remove(RedisKeys.pendingCountdownsKey(), roomId.toString()).then();
+                    }
 
+                    log.info("Re-arming countdown for game {} in room {}, ends at {}", state.getGameId(), roomId, state.getCountdownEndTime());
+                    armCountdown(roomId, state.getGameId(), "", null, state.getCountdownEndTime());
+                    return Mono.<Void>empty();
+                });
+    }
+
+    /**
+     * Cancel the countdown timers of matching rooms on this node without touching the persisted deadlines,
+     * so the rooms' new owners re-arm them.
+     */
+    public void handOffCountdowns(Predicate<Long> roomFilter) {
+        List.copyOf(armedCountdowns).stream()
+                .filter(roomFilter)
+                .forEach(roomId -> {
+                    roomTickScheduler.cancel(roomId, RoomTickScheduler.TimerKind.COUNTDOWN);
+                    armedCountdowns.remove(roomId);
+                });
+    }
+
+    private void armCountdown(Long roomId, Long gameId, String userId, Integer capacity, Instant countdownEndTime) {
+        armedCountdowns.add(roomId);
+        roomTickScheduler.scheduleAt(roomId, RoomTickScheduler.TimerKind.COUNTDOWN, countdownEndTime,
+                inRoom(roomId, () -> onCountdownElapsed(roomId, gameId, userId, capacity)));
+    }
+
+    /**
+     * Countdown deadline reached: start the game if enough players are still in, otherwise reset it to READY.
+     * Removing the room from the pending countdowns set decides which node handles the deadline.
+     */
+    private Mono<Void> onCountdownElapsed(Long roomId, Long gameId, String userId, Integer capacity) {
+        armedCountdowns.remove(roomId);
+
+        return reactiveRedisTemplate.opsForZSet().remove(RedisKeys.pendingCountdownsKey(), roomId.toString())
+                .filter(removed -> removed > 0)
+                .flatMap(removed -> getMinPlayersToStart(roomId))
+                .flatMap(minPlayersToStart -> gameStateService.getAllPlayers(gameId)
+                        .flatMap(players -> {
+                            int playersCount = players.size();
+                            log.info("Countdown finished. Players: {} / min: {}", playersCount, minPlayersToStart);
+                            if (playersCount >= minPlayersToStart) {
+                                return startGame(gameId, roomId, userId, capacity);
+                            }
+
+                            log.warn("Not enough players after countdown. Game {} will not start.", gameId);
+
+                            return gameStateService.updateGameState(roomId, GameStateFacet.PERSISTED, gState -> {
+                                        if (!GameStatus.COUNTDOWN.equals(gState.getStatus())) {
+                                            return false;
+                                        }
+                                        // Reset game state to READY
+                                        gState.setStatus(GameStatus.READY);
+                                        gState.setCountdownEndTime(null);
+                                        gState.setStatusUpdatedAt(Instant.now());
+                                        return true;
+                                    })
+                                    .flatMap(gState -> gameWriteBehind.enqueue(gState)
+                                                .then(publishGameEvent(
+                                                        gameId,
+                                                        roomId,
+                                                        Map.of(
+                                                                "type", "game.notEnoughPlayers",
+                                                                "payload", Map.of(
+                                                                        "roomId", roomId,
+                                                                        "gameId", gameId,
+                                                                        "status", gState.getStatus(),
+                                                                        "joinedPlayers", gState.getJoinedPlayers(),
+                                                                        "playersCount", playersCount
+                                                                )
+                                                        )
+                                                )))
+                                    .then();
+                        }))
+                .onErrorResume(err -> {
+                    log.error("Countdown completion failed for game {}", gameId, err);
+                    return Mono.empty();
+                })
+                .then();
     }
 
 
@@ -667,19 +690,22 @@ public class GameService {
      * Start the game
      */
     private Mono<Void> startGame(Long gameId, Long roomId, String userId, Integer capacity) {
-        return gameStateService.getGameState(roomId)
-                .flatMap(state -> {
+        return gameStateService.updateGameState(roomId, state -> {
+                    if (state.isStarted() || state.isEnded()) {
+                        return false;
+                    }
 
                     // Update game state to started and playing
                     state.setStarted(true);
                     state.setEnded(false);
                     state.setStatus(GameStatus.PLAYING);
                     state.setStatusUpdatedAt(Instant.now());
-
-                    // Save the updated state first
-                    return gameStateService.saveGameStateToRedis(state, roomId)
-                            .then(publisher.publishEvent(
-                                    RedisKeys.roomChannel(roomId),
+                    return true;
+                })
+                .flatMap(state -> {
+                    return publishGameEvent(
+                                    gameId,
+                                    roomId,
                                     Map.of(
                                             "type", "game.started",
                                             "payload", Map.of(
@@ -688,9 +714,9 @@ public class GameService {
                                                     "gameId", gameId
                                             ) // empty payload
                                     )
-                            ))
+                            )
                             .then(
-                                    startNumberDrawingWithLuaLock(reactiveRedisTemplate, state, userId)
+                                    startNumberDrawing(state, userId)
                                             .onErrorResume(e -> {
                                                 log.error("Number drawing failed", e);
                                                 return Mono.empty();
@@ -700,71 +726,91 @@ public class GameService {
     }
 
     /**
-     * Start number drawing with distributed lock to ensure only one instance handles it
+     * Start number drawing under a renewable drawing lease so only one instance handles it.
+     * Completes as soon as the first draw tick is scheduled; the lease is released when the loop finishes.
      */
+    private Mono<Void> startNumberDrawing(GameState state, String userId) {
+        return drawingLeaseService.tryAcquire(state.getRoomId(), state.getGameId())
+                .flatMap(token -> {
+                    log.info("Instance acquired drawing lease for game {}", state.getGameId());
 
-    private Mono<Void> startNumberDrawingWithLuaLock(ReactiveStringRedisTemplate redisTemplate,
-                                                     GameState state,
-                                                     String userId) {
-        String lockKey = RedisKeys.gameDrawingLockKey(state.getGameId());
-        String lockValue = UUID.randomUUID().toString(); // unique owner
-        int lockTTLSeconds = 250;
-
-        // Lua script: acquire lock with NX + EX
-        String acquireScriptStr = """
-                if redis.call('set', KEYS[1], ARGV[1], 'NX', 'EX', ARGV[2]) then
-                    return 1
-                else
-                    return 0
-                end
-                """;
-
-        RedisScript<Long> acquireScript = RedisScript.of(acquireScriptStr, Long.class);
-
-        // Lua script: release only if owner matches
-        String releaseScriptStr = """
-                if redis.call('get', KEYS[1]) == ARGV[1] then
-                    return redis.call('del', KEYS[1])
-                else
-                    return 0
-                end
-                """;
-
-        RedisScript<Long> releaseScript = RedisScript.of(releaseScriptStr, Long.class);
-
-        return redisTemplate.execute(acquireScript, List.of(lockKey), lockValue, String.valueOf(lockTTLSeconds))
-                .next()
-                .flatMap(acquired -> {
-                    if (acquired != null && acquired == 1L) {
-                        log.info("Instance acquired drawing lock for game {}", state.getGameId());
-
-                        return gameStateService.deleteDrawnNumbers(state.getGameId())
-                                .flatMap(deleted -> {
-                                    return drawNumbersLoop(state, userId)
-                                            .then(redisTemplate.execute(releaseScript, List.of(lockKey), lockValue)
-                                                    .next()
-                                                    .map(result -> result != null && result > 0)
-                                                    .doOnNext(released -> {
-                                                        if (released) {
-                                                            log.info("Released drawing lock for game {}", state.getGameId());
-                                                        } else {
-                                                            log.warn("Lock for game {} was not released (owner mismatch or expired)", state.getGameId());
-                                                        }
-                                                    })
-                                                    .onErrorResume(e -> {
-                                                        log.warn("Failed to unlock drawing lock for game {}", state.getGameId(), e);
-                                                        return Mono.empty();
-                                                    })
-                                            )
-                                            .then();
+                    return gameStateService.initDrawSequence(state.getGameId())
+                            .then(drawNumbersLoop(new DrawLoop(state.getRoomId(), state.getGameId(), userId, token)));
+                })
+                .switchIfEmpty(Mono.fromRunnable(() ->
+                        log.info("Another instance is handling number drawing for game {}", state.getGameId())));
+    }
 
-                                });
+    /**
+     * Resume drawing for a game whose drawing lease expired (e.g. its node died), continuing from the
+     * persisted draw sequence. Does nothing if another node already holds the lease.
+     */
+    public Mono<Void> resumeNumberDrawing(Long roomId, Long gameId) {
+        return drawingLeaseService.tryAcquire(roomId, gameId)
+                .flatMap(token -> gameStateService.getGameMeta(roomId)
+                        .filter(state -> gameId.equals(state.getGameId())
+                                && GameStatus.PLAYING.equals(state.getStatus())
+                                && !state.isEnded()
+                                && !state.getStopNumberDrawing())
+                        .flatMap(state -> {
+                            log.info("Resuming number drawing for game {} in room {}", gameId, roomId);
+                            return drawNumbersLoop(new DrawLoop(roomId, gameId, "", token));
+                        })
+                        .switchIfEmpty(Mono.defer(() -> {
+                            log.info("Game {} is no longer playing, dropping it from active draws", gameId);
+                            return drawingLeaseService.release(gameId, token)
+                                    .then(drawingLeaseService.unregister(gameId))
+                                    .then();
+                        })));
+    }
 
-                    } else {
-                        log.info("Another instance is handling number drawing for game {}", state.getGameId());
-                        return Mono.empty();
-                    }
-                });
+    /**
+     * Stop the matching draw loops running on this node and release their leases without finishing the games,
+     * so other nodes pick them up straight away. Used on shutdown and when rooms move to another owner.
+     */
+    public Mono<Void> handOffDrawLoops(Predicate<Long> roomFilter) {
+        return Flux.fromIterable(List.copyOf(drawLoops.values()))
+                .filter(loop -> roomFilter.test(loop.roomId()))
+                .filter(loop -> loop.finished().compareAndSet(false, true))
+                .flatMap(loop -> {
+                    drawLoops.remove(loop.roomId(), loop);
+                    roomTickScheduler.cancelAll(loop.roomId());
+                    log.info("Handing off number drawing for game {}", loop.gameId());
+                    return drawingLeaseService.release(loop.gameId(), loop.leaseToken());
+                })
+                .then();
+    }
+
+    /**
+     * Wrap a timer callback so it runs as a message of the room's actor, serialized with the room's commands.
+     */
+    private Supplier<Mono<Void>> inRoom(Long roomId, Supplier<Mono<Void>> task) {
+        return () -> roomActors.ask(roomId, task);
+    }
+
+    /**
+     * Give up the drawing lease but keep the game registered, so a lease watcher resumes its drawing.
+     */
+    private Mono<Void> releaseDrawingLease(DrawLoop loop) {
+        return drawingLeaseService.release(loop.gameId(), loop.leaseToken())
+                .onErrorResume(e -> {
+                    log.warn("Failed to release drawing lease for game {}", loop.gameId(), e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Give up the drawing lease of a game that has ended or stopped drawing, and stop watching it.
+     */
+    private Mono<Void> releaseAndUnregisterDrawingLease(DrawLoop loop) {
+        return drawingLeaseService.release(loop.gameId(), loop.leaseToken())
+                .then(drawingLeaseService.unregister(loop.gameId()))
+                .onErrorResume(e -> {
+                    log.warn("Failed to release drawing lease for game {}", loop.gameId(), e);
+                    return Mono.empty();
+                })
+                .then();
     }
 
 
@@ -779,166 +825,162 @@ public class GameService {
         redisListenerContainer.receive(new ChannelTopic(channel))
                 .map(ReactiveSubscription.Message::getMessage)
                 .subscribe(message -> {
-                    MonoSink<Void> sink = stopLoopSinks.get(roomId);
-                    if (sink != null) {
-                        sink.success();               // stop the draw loop
-                        stopLoopSinks.remove(roomId); // cleanup
+                    DrawLoop loop = drawLoops.get(roomId);
+                    if (loop != null) {
+                        roomActors.tell(roomId, () -> finishDrawLoop(loop)); // stop the draw loop
                     }
                     subscribedRooms.remove(roomId); // allow resubscribe for new game
                 });
     }
 
 
-    private Mono<Void> drawNumbersLoop(GameState state, String userId) {
-        final Long roomId = state.getRoomId();
-        final int maxDraws = 75;
-        final String endLockKey = "game:end-lock:" + roomId; // New lock key for endGame
+    /**
+     * State of a room's draw loop on this node. Ticks are driven by {@link RoomTickScheduler}.
+     */
+    private record DrawLoop(Long roomId, Long gameId, String userId, String leaseToken,
+                            AtomicInteger draws, AtomicBoolean finished) {
+        DrawLoop(Long roomId, Long gameId, String userId, String leaseToken) {
+            this(roomId, gameId, userId, leaseToken, new AtomicInteger(), new AtomicBoolean(false));
+        }
+    }
+
+    private static final int MAX_DRAWS = 75;
 
+    private Mono<Void> drawNumbersLoop(DrawLoop loop) {
         log.info(">>>>>>>>>>>>>>>>>>>>>><<<<<<DRAW INTERVAL>>>>>>>>>>>>>>>>>>><<<<>>>>>>>>:: {}", drawInterval);
         // Automatically subscribe to Redis stop channel
-        autoSubscribeStopChannel(roomId);
-
-        return Mono.<Void>create(sink -> {
-            stopLoopSinks.put(roomId, sink);
-
-            Flux.range(1, maxDraws)
-                    .concatMap(i ->
-                            Mono.delay(Duration.ofSeconds(drawInterval))
-                                    .flatMap(tick -> gameStateService.getGameState(roomId))
-                                    .flatMap(latestState -> {
-                                        if (latestState.isEnded() || latestState.getStopNumberDrawing()) {
-                                            log.info("Game {} ended/stopped at iteration {}", latestState.getGameId(), i);
-                                            return Mono.empty();
-                                        }
+        autoSubscribeStopChannel(loop.roomId());
 
-                                        // Compute remaining numbers
-                                        List<Integer> remaining = new ArrayList<>();
-                                        for (int n = 1; n <= maxDraws; n++) {
-                                            if (!latestState.getDrawnNumbers().contains(n)) remaining.add(n);
-                                        }
+        return Mono.fromRunnable(() -> {
+            drawLoops.put(loop.roomId(), loop);
+            scheduleNextDraw(loop);
+        });
+    }
 
-                                        if (remaining.isEmpty()) return Mono.empty();
+    private void scheduleNextDraw(DrawLoop loop) {
+        if (loop.finished().get()) return;
+        roomTickScheduler.schedule(loop.roomId(), RoomTickScheduler.TimerKind.DRAW,
+                Duration.ofSeconds(drawInterval), inRoom(loop.roomId(), () -> drawTick(loop)));
+    }
 
-                                        Collections.shuffle(remaining);
-                                        Integer next = remaining.get(0);
+    private Mono<Void> drawTick(DrawLoop loop) {
+        final Long roomId = loop.roomId();
+        final int i = loop.draws().incrementAndGet();
 
-                                        log.info("Drawing number {} for game {} remaining: {}", next, latestState.getGameId(), remaining);
+        return gameStateService.drawNextNumber(roomId, loop.gameId(), loop.leaseToken(), drawingLeaseService.getLeaseTtl())
+                .flatMap(result -> {
+                    if (result == -2L) {
+                        log.warn("Lost drawing lease for game {}, stopping local draw loop", loop.gameId());
+                        if (loop.finished().compareAndSet(false, true)) drawLoops.remove(roomId, loop);
+                        return Mono.<Void>empty();
+                    }
+                    if (result == 0L) {
+                        log.info("Game {} ended/stopped at iteration {}", loop.gameId(), i);
+                        return finishDrawLoop(loop);
+                    }
+                    if (result < 0L) {
+                        return finishDrawLoop(loop);
+                    }
 
-                                        return drawSingleNumber(latestState, next);
-                                    })
-                    )
-                    // Stop drawing if Redis sends a stop signal
-                    .takeUntilOther(Mono.<Void>create(innerSink -> stopLoopSinks.put(roomId, innerSink)))
-                    .doFinally(signal -> stopLoopSinks.remove(roomId))
-                    .then(
-                            // After drawing finishes, handle potential no-winner ending safely
-                            Mono.defer(() ->
-                                    gameStateService.getGameState(roomId)
-                                            .flatMap(latestState -> {
-                                                if (latestState.isEnded() || latestState.getStopNumberDrawing()) {
-                                                    log.info("Game {} already ended before no-winner check", latestState.getGameId());
-                                                    return Mono.empty();
-                                                }
-
-                                                // Compute remaining numbers
-                                                List<Integer> remaining = new ArrayList<>();
-                                                for (int n = 1; n <= maxDraws; n++) {
-                                                    if (!latestState.getDrawnNumbers().contains(n)) remaining.add(n);
-                                                }
-
-                                                if (!remaining.isEmpty()) {
-                                                    log.info("Game {} still has remaining numbers, skipping no-winner end", latestState.getGameId());
-                                                    return Mono.empty();
-                                                }
-
-                                                log.info("All numbers drawn for game {}. Waiting {}s for potential claims...", latestState.getGameId(), 3);
-
-                                                return Mono.delay(Duration.ofSeconds(3))
-                                                        .then(gameStateService.getGameState(roomId))
-                                                        .flatMap(checkState -> {
-                                                            if (checkState.isEnded() || checkState.getClaimRequested()) {
-                                                                log.info("Claim detected or game ended for {} — skipping no-winner end", checkState.getGameId());
-                                                                return Mono.empty();
-                                                            }
-
-                                                            // Try to acquire end-lock before marking game ended
-                                                            return reactiveRedisTemplate.opsForValue().setIfAbsent(endLockKey, "locked", Duration.ofSeconds(10))
-                                                                    .flatMap(acquired -> {
-                                                                        if (!Boolean.TRUE.equals(acquired)) {
-                                                                            log.info("Another instance is already ending game {}", checkState.getGameId());
-                                                                            return Mono.empty();
-                                                                        }
-
-                                                                        log.info("No claims received. Ending game {} as no-winner.", checkState.getGameId());
-
-                                                                        GameEndResponse response = GameEndResponse.builder()
-                                                                                .gameId(checkState.getGameId())
-                                                                                .cardId("")
-                                                                                .playerId(0L)
-                                                                                .playerName("No Winner")
-                                                                                .pattern("")
-                                                                                .prizeAmount(BigDecimal.ZERO)
-                                                                                .hasWinner(false)
-                                                                                .winAt(LocalDateTime.now())
-                                                                                .markedNumbers(Set.of())
-                                                                                .card(new CardInfo())
-                                                                                .build();
-
-                                                                        return gameStateService.getGameState(roomId)
-                                                                                .flatMap(gameState -> {
-                                                                                    if (!gameState.isEnded() && !gameState.getStopNumberDrawing()) {
-                                                                                        return endGame(checkState, userId, response).then();
-                                                                                    }
-                                                                                    return Mono.empty();
-                                                                                })
-                                                                                .onErrorResume(err -> {
-                                                                                    log.info("Error in endGame: {}", err.getMessage());
-                                                                                    return Mono.empty();
-                                                                                })
-                                                                                .then(reactiveRedisTemplate.delete(endLockKey)) // release lock
-                                                                                .onErrorResume(err ->
-                                                                                        reactiveRedisTemplate.delete(endLockKey).then(Mono.error(err))
-                                                                                );
-                                                                    });
-                                                        });
-                                            })
-                            )
-                    )
-                    .doFinally(signal -> log.info("Number drawing loop for room {} finished with signal {}", roomId, signal))
-                    .subscribe();
-        });
+                    log.info("Drew number {} for game {} (draw {})", result, loop.gameId(), i);
+                    if (i < MAX_DRAWS) {
+                        scheduleNextDraw(loop);
+                        return Mono.<Void>empty();
+                    }
+                    return finishDrawLoop(loop);
+                })
+                .onErrorResume(e -> {
+                    // Transient failure: try again on the next tick; the draw itself did not happen
+                    log.error("Draw tick {} failed for room {}, retrying on the next tick", i, roomId, e);
+                    loop.draws().decrementAndGet();
+                    scheduleNextDraw(loop);
+                    return Mono.empty();
+                });
     }
 
-
     /**
-     * Draw a single number and update state
+     * Stop drawing for the room, handle a potential no-winner ending and release the drawing lease.
+     * Safe to call more than once; only the first call does anything.
      */
-    private Mono<Void> drawSingleNumber(GameState state, Integer number) {
-        return Mono.defer(() -> {
-            if (state.isEnded() || state.getStopNumberDrawing()) {
-                log.info("=============================>>> Game {} ended during drawing, stopping", state.getGameId());
-                return Mono.empty(); // Stop if game ended
-            }
+    private Mono<Void> finishDrawLoop(DrawLoop loop) {
+        if (!loop.finished().compareAndSet(false, true)) return Mono.empty();
+
+        final Long roomId = loop.roomId();
+        drawLoops.remove(roomId, loop);
+        roomTickScheduler.cancel(roomId, RoomTickScheduler.TimerKind.DRAW);
+
+        return gameStateService.getGameMeta(roomId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(found -> {
+                    GameState latestState = found.orElse(null);
+                    if (latestState == null || latestState.isEnded() || latestState.getStopNumberDrawing()) {
+                        log.info("Game {} already ended before no-winner check", loop.gameId());
+                        return releaseAndUnregisterDrawingLease(loop);
+                    }
 
-            state.getDrawnNumbers().add(number);
-//            log.info("Drawing number {} for game {}: ", number, state.getGameId());
-            log.info("=====================================>>>: Drawing number {} for game {} and room {}: drawnNumbers={}", number, state.getGameId(), state.getRoomId(), state.getDrawnNumbers());
+                    return gameStateService.getRemainingDrawCount(latestState.getGameId())
+                            .flatMap(remaining -> {
+                                if (remaining > 0) {
+                                    log.info("Game {} still has {} numbers to draw, skipping no-winner end", latestState.getGameId(), remaining);
+                                    return releaseDrawingLease(loop);
+                                }
 
-            // Save updated state to Redis
-            return gameStateService.saveGameStateToRedis(state, state.getRoomId())
-                    .then(gameStateService.addOrInitDrawnNumber(state.getGameId(), number))
-                    .then(publisher.publishEvent(
-                            RedisKeys.roomChannel(state.getRoomId()),
-                            Map.of("type", "game.numberDrawn",
-                                    "payload", Map.of(
-                                            "number", number,
-                                            "gameId", state.getGameId(),
-                                            "roomId", state.getRoomId()))
-                    ))
-                    .then();
-        });
+                                log.info("All numbers drawn for game {}. Waiting {}s for potential claims...", latestState.getGameId(), 3);
+
+                                roomTickScheduler.schedule(roomId, RoomTickScheduler.TimerKind.END_CHECK, Duration.ofSeconds(3),
+                                        inRoom(roomId, () -> endGameWithoutWinner(loop).then(releaseAndUnregisterDrawingLease(loop))));
+                                // Heartbeat so the lease outlives the claim window
+                                return drawingLeaseService.renew(loop.gameId(), loop.leaseToken()).then();
+                            });
+                })
+                .doFinally(signal -> log.info("Number drawing loop for room {} finished with signal {}", roomId, signal));
     }
 
+    /**
+     * Claim window after the last draw has passed: end the game as no-winner unless a claim came in.
+     */
+    private Mono<Void> endGameWithoutWinner(DrawLoop loop) {
+        final Long roomId = loop.roomId();
+
+        // Marking the game ended is a compare-and-set, so a claim that got in first (on any node) wins
+        return gameStateService.updateGameState(roomId, checkState -> {
+                    if (checkState.isEnded()
+                            || Boolean.TRUE.equals(checkState.getClaimRequested())
+                            || Boolean.TRUE.equals(checkState.getStopNumberDrawing())) {
+                        log.info("Claim detected or game ended for {} — skipping no-winner end", checkState.getGameId());
+                        return false;
+                    }
+                    checkState.setEnded(true);
+                    checkState.setStatus(GameStatus.COMPLETED);
+                    return true;
+                })
+                .flatMap(endedState -> {
+                    log.info("No claims received. Ending game {} as no-winner.", endedState.getGameId());
+
+                    GameEndResponse response = GameEndResponse.builder()
+                            .gameId(endedState.getGameId())
+                            .cardId("")
+                            .playerId(0L)
+                            .playerName("No Winner")
+                            .pattern("")
+                            .prizeAmount(BigDecimal.ZERO)
+                            .hasWinner(false)
+                            .winAt(LocalDateTime.now())
+                            .markedNumbers(NumberSet.EMPTY)
+                            .card(new CardInfo())
+                            .build();
+
+                    return endGame(endedState, loop.userId(), response);
+                })
+                .onErrorResume(err -> {
+                    log.info("Error in endGame: {}", err.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+
     /**
      * End game when no winner is found (all numbers drawn)
      */
@@ -951,33 +993,108 @@ public class GameService {
 //        return gameStateService.saveGameStateToRedis(state, state.getRoomId())
         return gameStateService.deleteGameState(state.getRoomId())
                 .then(
-                        publisher.publishEvent(
-                                RedisKeys.roomChannel(state.getRoomId()),
+                        publishGameEvent(
+                                gameId,
+                                state.getRoomId(),
                                 Map.of("type", "game.ended", "payload", GameEndResponseMapper.toMap(responseObject))
                         )).then();
     }
 
-
-    private Mono<Boolean> updateGameToDatabase(GameState latestState) {
-        return gameRepository.findById(latestState.getGameId())
-                .flatMap(existingGame -> {
-                    Game updatedGame = GameMapper.toEntity(latestState, existingGame, objectMapper);
-
-                    return gameRepository.save(updatedGame)
-                            .doOnSubscribe(sub -> log.info("Updating game {} to database", updatedGame.getId()))
-                            .doOnNext(saved -> log.info("Updated game {} to database", saved.getId()))
-                            .thenReturn(true); // Return true after saving
+    /**
+     * Clean up the room's game if it went stale: a countdown or game that saw no change since
+     * {@code staleBefore} is ended without a winner and its players are refunded; a finished game whose
+     * keys were left behind is only cleaned up. Cards are released and every key of the game is deleted.
+     *
+     * @return the number of Redis keys reclaimed, 0 if the game is not stale
+     */
+    public Mono<Long> sweepStaleGame(Long roomId, Instant staleBefore) {
+        return gameStateService.getGameMeta(roomId)
+                .filter(meta -> meta.getStatusUpdatedAt() != null && meta.getStatusUpdatedAt().isBefore(staleBefore))
+                .flatMap(meta -> {
+                    if (meta.isEnded() || GameStatus.COMPLETED.equals(meta.getStatus())) {
+                        return gameStateService.getAllPlayers(meta.getGameId())
+                                .flatMap(players -> purgeGame(roomId, meta.getGameId(), players));
+                    }
+                    if (!GameStatus.PLAYING.equals(meta.getStatus()) && !GameStatus.COUNTDOWN.equals(meta.getStatus())) {
+                        return Mono.empty();
+                    }
+                    return abandonGame(roomId, staleBefore)
+                            .flatMap(state -> purgeGame(roomId, state.getGameId(), state.getJoinedPlayers()));
                 })
-                .switchIfEmpty(Mono.defer(() -> {
-                    log.warn("Game not found for ID: {}", latestState.getGameId());
-                    return Mono.just(false);
-                }))
+                .defaultIfEmpty(0L)
                 .onErrorResume(e -> {
-                    log.error("Failed to update game {}: {}", latestState.getGameId(), e.getMessage(), e);
-                    return Mono.just(false);
+                    log.error("Failed to sweep stale game of room {}: {}", roomId, e.getMessage(), e);
+                    return Mono.just(0L);
                 });
     }
 
+    /**
+     * End a stale countdown or game without a winner and refund its players. The compare-and-set makes sure
+     * a game that moved on (or was ended elsewhere) in the meantime is left alone.
+     */
+    private Mono<GameState> abandonGame(Long roomId, Instant staleBefore) {
+        return gameStateService.updateGameState(roomId, GameStateFacet.PERSISTED, state -> {
+                    if (state.isEnded() || !state.getStatusUpdatedAt().isBefore(staleBefore)) {
+                        return false;
+                    }
+                    state.setEnded(true);
+                    state.setStatus(GameStatus.COMPLETED);
+                    state.setStopNumberDrawing(true);
+                    state.setStatusUpdatedAt(Instant.now());
+                    return true;
+                })
+                .flatMap(state -> {
+                    Long gameId = state.getGameId();
+                    log.warn("Game {} in room {} went stale; ending it and refunding {} players",
+                            gameId, roomId, state.getJoinedPlayers().size());
+
+                    roomTickScheduler.cancel(roomId, RoomTickScheduler.TimerKind.COUNTDOWN);
+                    armedCountdowns.remove(roomId);
+
+                    Mono<Void> refunds = Flux.fromIterable(state.getJoinedPlayers())
+                            .flatMap(userId -> paymentService.processRefund(Long.parseLong(userId), gameId)
+                                    .doOnNext(refunded -> log.info("Refund {} for user {} in stale game {}",
+                                            refunded ? "succeeded" : "failed", userId, gameId)), 4)
+                            .then();
+
+                    GameEndResponse response = GameEndResponse.builder()
+                            .gameId(gameId)
+                            .cardId("")
+                            .playerId(0L)
+                            .playerName("No Winner")
+                            .pattern("")
+                            .prizeAmount(BigDecimal.ZERO)
+                            .hasWinner(false)
+                            .winAt(LocalDateTime.now())
+                            .markedNumbers(NumberSet.EMPTY)
+                            .card(new CardInfo())
+                            .build();
+
+                    return reactiveRedisTemplate.opsForZSet().remove(RedisKeys.pendingCountdownsKey(), roomId.toString())
+                            .then(refunds)
+                            .then(gameWriteBehind.enqueue(state))
+                            .then(publishGameEvent(gameId, roomId,
+                                    Map.of("type", "game.ended", "payload", GameEndResponseMapper.toMap(response))))
+                            .thenReturn(state);
+                });
+    }
+
+    /**
+     * Release the players' cards and delete every key of the game.
+     *
+     * @return the number of keys that existed before the cleanup
+     */
+    private Mono<Long> purgeGame(Long roomId, Long gameId, Set<String> players) {
+        return gameStateService.gameKeys(roomId, gameId, players)
+                .flatMap(keys -> reactiveRedisTemplate.countExistingKeys(keys)
+                        .flatMap(existing -> Flux.fromIterable(players)
+                                .concatMap(userId -> playerCleanupService.removePlayerFromGame(roomId, gameId, userId))
+                                .then(reactiveRedisTemplate.delete(keys.toArray(String[]::new)))
+                                .then(gameStateCache.invalidateRoom(roomId, -1))
+                                .thenReturn(existing)))
+                .doOnNext(reclaimed -> log.info("Swept game {} of room {}: {} keys reclaimed", gameId, roomId, reclaimed));
+    }
+
 
     public Mono<Void> claimBingo(Long roomId, String userId, Map<String, Object> payload) {
         log.info("BINGO CLAIM PAYLOAD: {}", payload);
@@ -994,69 +1111,42 @@ public class GameService {
             return sendUserError(userId, cardId, "INVALID_CLAIM", "Invalid claim data");
         }
 
-        Set<Integer> claimedMarkedNumbers = new HashSet<>(markedList);
-        String claimLockKey = "game:" + gameId + ":claim-lock";
-        String endLockKey = "game:end-lock:" + roomId; // New distributed end lock key
-
-        String luaClaimLock = """
-                if redis.call('exists', KEYS[1]) == 0 then
-                    redis.call('set', KEYS[1], ARGV[1], 'EX', 10)
-                    return 1
-                else
-                    return 0
-                end
-                """;
-
-        RedisScript<Long> acquireClaimLockScript = RedisScript.of(luaClaimLock, Long.class);
-
-        return Mono.defer(() ->
-                        gameStateService.getGameState(roomId)
-                                .flatMap(state -> {
-                                    if (state.isEnded()) return Mono.error(new IllegalStateException("GAME_ENDED"));
-
-                                    return reactiveRedisTemplate.execute(acquireClaimLockScript, List.of(claimLockKey), userId)
-                                            .next()
-                                            .flatMap(acquired -> {
-                                                if (acquired == null || acquired != 1)
-                                                    return Mono.error(new IllegalStateException("LOCK_BUSY"));
-                                                return Mono.just(true);
-                                            });
-                                })
-                )
-                .retryWhen(Retry.backoff(10, Duration.ofMillis(100))
-                        .maxBackoff(Duration.ofSeconds(2))
-                        .filter(e -> e instanceof IllegalStateException && "LOCK_BUSY".equals(e.getMessage()))
-                        .onRetryExhaustedThrow((spec, signal) -> new RuntimeException("Failed to acquire claim lock after retries"))
-                )
-                .onErrorResume(e -> {
-                    if (e instanceof IllegalStateException && "GAME_ENDED".equals(e.getMessage())) {
-                        return sendUserError(userId, cardId, "GAME_ALREADY_COMPLETED", "Game already completed").hasElement();
-                    }
-                    return Mono.error(e);
-                })
+        NumberSet claimedMarkedNumbers;
+        try {
+            claimedMarkedNumbers = NumberSet.of(markedList);
+        } catch (IllegalArgumentException e) {
+            return sendUserError(userId, cardId, "INVALID_CLAIM", "Invalid claim data");
+        }
+
+        // Claims of a room are serialized by the room's actor, so no claim lock is needed here
+        return gameStateService.getGameMeta(roomId)
+                .flatMap(state -> state.isEnded()
+                        ? sendUserError(userId, cardId, "GAME_ALREADY_COMPLETED", "Game already completed").then(Mono.<Boolean>empty())
+                        : Mono.just(true))
                 .flatMap(ignored ->
                                 Mono.zip(
                                                 gameStateService.getAllPlayers(gameId),
-                                                playerStateService.getPlayerCards(gameId, userId)
+                                                playerStateService.getPlayerCardIds(gameId, userId),
+                                                // Seeded cards are regenerated from their id, without a Redis read
+                                                cardPoolService.getCard(roomId, cardId).map(Optional::of).defaultIfEmpty(Optional.empty())
                                         )
                                         .flatMap(tuple -> {
                                             Set<String> players = tuple.getT1();
-                                            Map<String, CardInfo> playerCards = tuple.getT2();
+                                            Set<String> playerCardIds = tuple.getT2();
 
                                             if (!players.contains(userId))
-                                                return releaseClaimLock(claimLockKey, userId).then(sendUserError(userId, cardId, "USER_NOT_IN_GAME", "You are not in the game"));
+                                                return sendUserError(userId, cardId, "USER_NOT_IN_GAME", "You are not in the game");
 
-                                            CardInfo cardInfo = playerCards.get(cardId);
+                                            CardInfo cardInfo = playerCardIds.contains(cardId) ? tuple.getT3().orElse(null) : null;
                                             if (cardInfo == null)
-                                                return releaseClaimLock(claimLockKey, userId).then(sendUserError(userId, cardId, "CARD_NOT_FOUND", "Card not found"));
+                                                return sendUserError(userId, cardId, "CARD_NOT_FOUND", "Card not found");
 
                                             return playerStateService.getMarkedNumbers(gameId, userId, cardId)
                                                     .flatMap(serverMarkedNumbers -> {
                                                         if (!claimedMarkedNumbers.containsAll(serverMarkedNumbers)) {
-                                                            return releaseClaimLock(claimLockKey, userId)
-                                                                    .then(sendUserError(userId, cardId, "MARKED_NUMBERS_MISMATCH", "Marked numbers mismatch"))
+                                                            return sendUserError(userId, cardId, "MARKED_NUMBERS_MISMATCH", "Marked numbers mismatch")
                                                                     .then(
-                                                                            gameStateService.getGameState(roomId)
+                                                                            gameStateService.getGameMeta(roomId)
                                                                                     .flatMap(state -> {
                                                                                         return createClaim(serverMarkedNumbers, state, cardId, cardInfo, dbUserId, pattern, false, "Invalid claim").then(); // convert to Mono<Void> so it chains cleanly
 
@@ -1068,98 +1158,96 @@ public class GameService {
                                                         return Mono.fromCallable(() -> {
                                                                     Map<BingoColumn, List<Integer>> cardNumbers = cardInfo.getNumbers();
                                                                     if (pattern != null && !pattern.isBlank()) {
-                                                                        return patternVerifier.verifyPattern(cardNumbers, new HashSet<>(serverMarkedNumbers), pattern);
+                                                                        return patternVerifier.verifyPattern(cardNumbers, serverMarkedNumbers, pattern);
                                                                     } else {
-                                                                        return patternVerifier.verifyLineOrFourCorners(cardNumbers, new HashSet<>(serverMarkedNumbers));
+                                                                        return patternVerifier.verifyLineOrFourCorners(cardNumbers, serverMarkedNumbers);
                                                                     }
                                                                 })
                                                                 .subscribeOn(Schedulers.boundedElastic())
                                                                 .flatMap(isWinner -> {
                                                                     if (!Boolean.TRUE.equals(isWinner)) {
                                                                         log.info("===============>>>>HOHO>>>>================>>>>>>>>>>: INVALID CLAIM");
-                                                                        return releaseClaimLock(claimLockKey, userId)
-                                                                                .then(sendUserError(userId, cardId, "INVALID_BINGO_CLAIM", "Invalid claim"))
+                                                                        return sendUserError(userId, cardId, "INVALID_BINGO_CLAIM", "Invalid claim")
                                                                                 .then(
-                                                                                        gameStateService.getGameState(roomId)
+                                                                                        gameStateService.getGameMeta(roomId)
                                                                                                 .flatMap(state -> {
                                                                                                     return createClaim(serverMarkedNumbers, state, cardId, cardInfo, dbUserId, pattern, false, "Invalid claim").then(); // convert to Mono<Void> so it chains cleanly
                                                                                                 })
                                                                                 );
                                                                     }
 
-                                                                    return gameStateService.getGameState(roomId)
-                                                                            .flatMap(state -> {
-                                                                                if (state.isEnded())
-                                                                                    return releaseClaimLock(claimLockKey, userId)
-                                                                                            .then(sendUserError(userId, cardId, "GAME_ALREADY_COMPLETED", "Game already completed"))
-                                                                                            .then(
-                                                                                                    createClaim(serverMarkedNumbers, state, cardId, cardInfo, dbUserId, pattern, false, "Game already completed") // convert to Mono<Void> so it chains cleanly
-                                                                                            );
-
-                                                                                // Acquire distributed end-lock before marking game ended
-                                                                                return reactiveRedisTemplate.opsForValue().setIfAbsent(endLockKey, "locked", Duration.ofSeconds(10))
-                                                                                        .flatMap(acquired -> {
-                                                                                            if (!Boolean.TRUE.equals(acquired)) {
-                                                                                                log.info("Another instance is already ending game {}.", state.getGameId());
-                                                                                                return releaseClaimLock(claimLockKey, userId)
-                                                                                                        .then(sendUserError(userId, cardId, "GAME_ENDED_BY_ANOTHER_INSTANCE", "Another instance is already ending game"))
-                                                                                                        .then(
-                                                                                                                createClaim(serverMarkedNumbers, state, cardId, cardInfo, dbUserId, pattern, false, "Another instance is already ending game") // convert to Mono<Void> so it chains cleanly
-                                                                                                        );
-
-                                                                                            }
-
-                                                                                            state.setEnded(true);
-                                                                                            state.setStatus(GameStatus.COMPLETED);
-                                                                                            state.setClaimRequested(true);
-                                                                                            state.setStopNumberDrawing(true);
-
-                                                                                            return gameStateService.saveGameStateToRedis(state, roomId)
-                                                                                                    .then(updateGameToDatabase(state))
-                                                                                                    .then(cardPoolService.getCard(roomId, cardId))
-                                                                                                    .flatMap(card -> {
-                                                                                                        GameEndResponse response = GameEndResponse.builder()
-                                                                                                                .gameId(state.getGameId())
-                                                                                                                .cardId(cardId)
-                                                                                                                .playerId(Long.parseLong(userId))
-                                                                                                                .playerName(playerName)
-                                                                                                                .pattern(pattern)
-                                                                                                                .prizeAmount(BigDecimal.ZERO)
-                                                                                                                .hasWinner(true)
-                                                                                                                .winAt(LocalDateTime.now())
-                                                                                                                .markedNumbers(serverMarkedNumbers)
-                                                                                                                .card(card)
-                                                                                                                .build();
-
-                                                                                                        String channel = "bingo:room:" + roomId + ":stop";
+                                                                    // Marking the game ended is a compare-and-set, so only the first claim (or the no-winner end) gets through
+                                                                    return gameStateService.updateGameState(roomId, GameStateFacet.PERSISTED, state -> {
+                                                                                if (state.isEnded()) return false;
+                                                                                state.setEnded(true);
+                                                                                state.setStatus(GameStatus.COMPLETED);
+                                                                                state.setClaimRequested(true);
+                                                                                state.setStopNumberDrawing(true);
+                                                                                return true;
+                                                                            })
+                                                                            .map(Optional::of)
+                                                                            .defaultIfEmpty(Optional.empty())
+                                                                            .flatMap(won -> {
+                                                                                if (won.isEmpty())
+                                                                                    return sendUserError(userId, cardId, "GAME_ALREADY_COMPLETED", "Game already completed")
+                                                                                            .then(gameStateService.getGameMeta(roomId))
+                                                                                            .flatMap(state -> createClaim(serverMarkedNumbers, state, cardId, cardInfo, dbUserId, pattern, false, "Game already completed"));
+
+                                                                                GameState state = won.get();
+                                                                                return gameWriteBehind.enqueue(state)
+                                                                                        .then(cardPoolService.getCard(roomId, cardId))
+                                                                                        .flatMap(card -> {
+                                                                                            GameEndResponse response = GameEndResponse.builder()
+                                                                                                    .gameId(state.getGameId())
+                                                                                                    .cardId(cardId)
+                                                                                                    .playerId(Long.parseLong(userId))
+                                                                                                    .playerName(playerName)
+                                                                                                    .pattern(pattern)
+                                                                                                    .prizeAmount(BigDecimal.ZERO)
+                                                                                                    .hasWinner(true)
+                                                                                                    .winAt(LocalDateTime.now())
+                                                                                                    .markedNumbers(serverMarkedNumbers)
+                                                                                                    .card(card)
+                                                                                                    .build();
+
+                                                                                            String channel = "bingo:room:" + roomId + ":stop";
 //
-                                                                                                        Mono<BingoClaimDto> bingoClaimMono = createBingoClaimDto(serverMarkedNumbers, state, cardId, card, dbUserId, pattern, true, null);
-
-                                                                                                        Mono<GameTransactionDto> gameTransactionMono = gameTransactionService.createGameTransactionForPrizePayout(state, dbUserId, GameTxnType.PRIZE_PAYOUT, gameId);
-
-                                                                                                        return bingoClaimMono.flatMap(bingoClaim ->
-                                                                                                                bingoClaimService.createBingoClaim(bingoClaim)
-                                                                                                                        .then(reactiveRedisTemplate.convertAndSend(channel, "STOP"))
-                                                                                                                        .then(endGame(state, userId, response))
-                                                                                                                        .then(gameTransactionMono)
-                                                                                                                        .then(reactiveRedisTemplate.delete(endLockKey)) // release end lock
-                                                                                                                        .onErrorResume(err ->
-                                                                                                                                reactiveRedisTemplate.delete(endLockKey).then(Mono.error(err))
-                                                                                                                        ));
-                                                                                                    });
+                                                                                            Mono<BingoClaimDto> bingoClaimMono = createBingoClaimDto(serverMarkedNumbers, state, cardId, card, dbUserId, pattern, true, null);
+
+                                                                                            Mono<GameTransactionDto> gameTransactionMono = gameTransactionService.createGameTransactionForPrizePayout(state, dbUserId, GameTxnType.PRIZE_PAYOUT, gameId);
+
+                                                                                            return bingoClaimMono.flatMap(bingoClaim ->
+                                                                                                    journalClaim(state, bingoClaim)
+                                                                                                            .then(bingoClaimService.createBingoClaim(bingoClaim))
+                                                                                                            .then(reactiveRedisTemplate.convertAndSend(channel, "STOP"))
+                                                                                                            .then(endGame(state, userId, response))
+                                                                                                            .then(gameTransactionMono)
+                                                                                                            .then());
                                                                                         });
                                                                             });
                                                                 });
                                                     });
                                         })
                 )
-                .onErrorResume(e -> releaseClaimLock(claimLockKey, userId)
-                        .then(sendUserError(userId, cardId, "CLAIM_ERROR", "Failed to process bingo claim"))).then();
+                .onErrorResume(e -> sendUserError(userId, cardId, "CLAIM_ERROR", "Failed to process bingo claim")).then();
     }
 
-    private Mono<Void> createClaim(Set<Integer> serverMarkedNumbers, GameState state, String cardId, CardInfo cardInfo, Long dbUserId, String pattern, Boolean isWinner, String error) {
+    /**
+     * Publish a room event and append it to the game's event journal.
+     */
+    private Mono<Long> publishGameEvent(Long gameId, Long roomId, Map<String, Object> event) {
+        return publisher.publishEvent(RedisKeys.roomChannel(roomId), event)
+                .flatMap(receivers -> gameEventJournal.append(gameId, roomId, (String) event.get("type"), event.get("payload"))
+                        .thenReturn(receivers));
+    }
+
+    private Mono<Void> journalClaim(GameState state, BingoClaimDto claim) {
+        return gameEventJournal.append(state.getGameId(), state.getRoomId(), "game.claim", claim);
+    }
+
+    private Mono<Void> createClaim(NumberSet serverMarkedNumbers, GameState state, String cardId, CardInfo cardInfo, Long dbUserId, String pattern, Boolean isWinner, String error) {
         return createBingoClaimDto(serverMarkedNumbers, state, cardId, cardInfo, dbUserId, pattern, isWinner, error)
-                .flatMap(bingoClaimService::createBingoClaim)
+                .flatMap(claim -> journalClaim(state, claim).then(bingoClaimService.createBingoClaim(claim)))
                 .doOnSuccess(bingoClaim -> log.info(
                         "Bingo claim for game {} created successfully. Bingo claim id: {}",
                         state.getGameId(), bingoClaim.getId()))
@@ -1169,7 +1257,7 @@ public class GameService {
     }
 
     private Mono<BingoClaimDto> createBingoClaimDto(
-            Set<Integer> serverMarkedNumbers,
+            NumberSet serverMarkedNumbers,
             GameState state,
             String cardId,
             CardInfo card,
@@ -1219,35 +1307,6 @@ public class GameService {
     }
 
 
-    // Safe lock release helper
-    private Mono<Boolean> releaseClaimLock(String claimLockKey, String userId) {
-        String luaReleaseLock = """
-                if redis.call('get', KEYS[1]) == ARGV[1] then
-                    return redis.call('del', KEYS[1])
-                else
-                    return 0
-                end
-                """;
-
-        RedisScript<Long> releaseLockScript = RedisScript.of(luaReleaseLock, Long.class);
-
-        return reactiveRedisTemplate.execute(releaseLockScript, List.of(claimLockKey), userId)
-                .next()
-                .map(result -> result != null && result == 1)
-                .doOnNext(released -> {
-                    if (released) {
-                        log.debug("Lock released for key {}, user {}", claimLockKey, userId);
-                    } else {
-                        log.debug("No lock released (not owner or already deleted) for key {}, user {}", claimLockKey, userId);
-                    }
-                })
-                .onErrorResume(e -> {
-                    log.error("Error releasing lock for key {}, user {}", claimLockKey, userId, e);
-                    return Mono.just(false);
-                });
-    }
-
-
     // Helper to send errors
     private Mono<Void> sendUserError(String userId, String cardId, String errorType, String message) {
         return publisher.publishUserEvent(userId,
@@ -1314,6 +1373,33 @@ public class GameService {
     }
 
 
+    /**
+     * Send the user the numbers drawn after {@code afterSeq}, so a reconnecting client only fetches what it missed.
+     */
+    public Mono<Void> sendDrawnNumbersSince(Long roomId, Long gameId, String userId, long afterSeq) {
+        if (gameId == null || afterSeq < 0) {
+            return publisher.publishUserEvent(userId, Map.of(
+                    "type", "error",
+                    "payload", Map.of(
+                            "message", "Invalid drawnNumbersRequest payload",
+                            "errorType", "GAME_OR_SEQ_MISSING_OR_INVALID"
+                    )
+            )).then();
+        }
+        return gameStateService.getDrawnNumbersSince(gameId, afterSeq)
+                .flatMap(numbers -> publisher.publishUserEvent(userId, Map.of(
+                        "type", "game.drawnNumbers",
+                        "payload", Map.of(
+                                "roomId", roomId,
+                                "gameId", gameId,
+                                "afterSeq", afterSeq,
+                                "lastSeq", afterSeq + numbers.size(),
+                                "numbers", numbers
+                        )
+                )))
+                .then();
+    }
+
     public Mono<Integer> getMinPlayersToStart(Long roomId) {
         return roomRepository.findById(roomId)
                 .map(Room::getMinPlayers)
@@ -0,0 +1,198 @@
+package com.ebingo.backend.game.service;
+
+import com.ebingo.backend.game.enums.GameStatus;
+import com.ebingo.backend.game.mappers.GameMapper;
+import com.ebingo.backend.game.repository.GameRepository;
+import com.ebingo.backend.game.service.cluster.RoomOwnershipService;
+import com.ebingo.backend.game.state.GameState;
+import com.ebingo.backend.system.redis.RedisKeys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind queue for {@code game} row updates.
+ * <p>
+ * {@link #enqueue} stores the latest snapshot of a game in the {@link RedisKeys#gameWriteBehindKey()} hash, so
+ * several updates of one game between flushes collapse into one row write, and pending updates survive a
+ * restart. Every {@code game.writeBehind.flushIntervalInMillis} the owner of each room loads the rows of its
+ * pending games in one query and saves them; an entry is removed only if it was not replaced while flushing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GameWriteBehind implements DisposableBean {
+
+    /**
+     * Remove the field/value pairs in ARGV whose value is still the one that was flushed.
+     * KEYS[1] = pending hash. Returns the number of removed entries.
+     */
+    private static final RedisScript<Long> REMOVE_FLUSHED_SCRIPT = RedisScript.of("""
+            local removed = 0
+            for i = 1, #ARGV, 2 do
+                if redis.call('hget', KEYS[1], ARGV[i]) == ARGV[i + 1] then
+                    removed = removed + redis.call('hdel', KEYS[1], ARGV[i])
+                end
+            end
+            return removed
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final GameRepository gameRepository;
+    private final RoomOwnershipService ownership;
+    private final ObjectMapper objectMapper;
+    private final GameMetrics gameMetrics;
+
+    @Value("${game.writeBehind.flushIntervalInMillis:500}")
+    private Long flushIntervalMillis;
+
+    @Value("${game.writeBehind.batchSize:200}")
+    private Integer batchSize;
+
+    private Disposable flusher;
+
+    /**
+     * Column values of a game row, as taken from its state; see {@link GameMapper}.
+     */
+    public record GameRowSnapshot(
+            Long gameId,
+            Long roomId,
+            Set<String> joinedPlayers,
+            List<Integer> drawnNumbers,
+            Set<String> allCardIds,
+            Set<String> allSelectedCardsIds,
+            boolean started,
+            boolean ended,
+            GameStatus status,
+            Integer capacity,
+            Double entryFee,
+            Double commissionRate) {
+
+        static GameRowSnapshot of(GameState state) {
+            return new GameRowSnapshot(state.getGameId(), state.getRoomId(),
+                    new HashSet<>(state.getJoinedPlayers()),
+                    new ArrayList<>(state.getDrawnNumbers()),
+                    new HashSet<>(state.getAllCardIds()),
+                    new HashSet<>(state.getAllSelectedCardsIds()),
+                    state.isStarted(), state.isEnded(), state.getStatus(),
+                    state.getCapacity(), state.getEntryFee(), state.getCommissionRate());
+        }
+
+        GameState toState() {
+            GameState state = new GameState();
+            state.setGameId(gameId);
+            state.setRoomId(roomId);
+            state.getJoinedPlayers().addAll(joinedPlayers);
+            state.getDrawnNumbers().addAll(drawnNumbers);
+            state.setAllCardIds(allCardIds);
+            state.setAllSelectedCardsIds(allSelectedCardsIds);
+            state.setStarted(started);
+            state.setEnded(ended);
+            state.setStatus(status);
+            state.setCapacity(capacity);
+            state.setEntryFee(entryFee);
+            state.setCommissionRate(commissionRate);
+            return state;
+        }
+    }
+
+    private record PendingUpdate(String field, String json, GameRowSnapshot snapshot) {
+    }
+
+    /**
+     * Queue a row update from the state (with {@code GameStateFacet.PERSISTED} loaded). Completes once the
+     * update is in Redis; the database write happens on a later flush.
+     */
+    public Mono<Boolean> enqueue(GameState state) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(GameRowSnapshot.of(state)))
+                .flatMap(json -> redis.opsForHash().put(RedisKeys.gameWriteBehindKey(), String.valueOf(state.getGameId()), json))
+                .thenReturn(true)
+                .onErrorResume(e -> {
+                    log.error("Failed to queue update of game {}: {}", state.getGameId(), e.getMessage(), e);
+                    return Mono.just(false);
+                });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        flusher = Flux.interval(Duration.ofMillis(flushIntervalMillis))
+                .onBackpressureDrop()
+                .concatMap(tick -> flush()
+                        .onErrorResume(e -> {
+                            log.warn("Game write-behind flush failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+        log.info("Game write-behind started (every {}ms, batches of {})", flushIntervalMillis, batchSize);
+    }
+
+    /**
+     * Write one batch of pending updates of locally owned rooms.
+     */
+    Mono<Void> flush() {
+        return redis.opsForHash().scan(RedisKeys.gameWriteBehindKey())
+                .map(entry -> toPendingUpdate(entry.getKey().toString(), entry.getValue().toString()))
+                .filter(update -> update.snapshot() == null || ownership.isLocal(update.snapshot().roomId()))
+                .take(batchSize)
+                .collectList()
+                .flatMap(this::write);
+    }
+
+    private Mono<Void> write(List<PendingUpdate> updates) {
+        if (updates.isEmpty()) return Mono.empty();
+
+        Map<Long, PendingUpdate> byGame = updates.stream()
+                .filter(update -> update.snapshot() != null)
+                .collect(Collectors.toMap(update -> update.snapshot().gameId(), Function.identity()));
+
+        return gameRepository.findAllById(byGame.keySet())
+                .map(existing -> GameMapper.toEntity(byGame.get(existing.getId()).snapshot().toState(), existing, objectMapper))
+                .collectList()
+                .flatMap(games -> gameRepository.saveAll(games).count())
+                .flatMap(saved -> {
+                    gameMetrics.incGameRowsFlushed(saved);
+                    log.debug("Flushed {} game row updates", saved);
+                    // Rows that no longer exist and unreadable entries are dropped along with the written ones
+                    return removeFlushed(updates);
+                })
+                .then();
+    }
+
+    private Mono<Long> removeFlushed(List<PendingUpdate> updates) {
+        List<String> args = new ArrayList<>(updates.size() * 2);
+        updates.forEach(update -> {
+            args.add(update.field());
+            args.add(update.json());
+        });
+        return redis.execute(REMOVE_FLUSHED_SCRIPT, List.of(RedisKeys.gameWriteBehindKey()), args).next();
+    }
+
+    private PendingUpdate toPendingUpdate(String field, String json) {
+        try {
+            return new PendingUpdate(field, json, objectMapper.readValue(json, GameRowSnapshot.class));
+        } catch (Exception e) {
+            log.warn("Dropping unreadable write-behind entry for game {}: {}", field, e.getMessage());
+            return new PendingUpdate(field, json, null);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (flusher != null) flusher.dispose();
+    }
+}
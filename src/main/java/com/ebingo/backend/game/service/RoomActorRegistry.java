@@ -0,0 +1,123 @@
+package com.ebingo.backend.game.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Per-room actors for the rooms owned by this node.
+ * <p>
+ * Every room gets a mailbox whose messages (client commands and timer callbacks) run strictly one
+ * after another, so state changes of a room never interleave on this node. Redis stays the durable
+ * backing store; it is no longer the concurrency mechanism.
+ * <p>
+ * A message must not wait for another message of the same room, or the mailbox stalls until the
+ * task timeout. An actor is dropped as soon as its mailbox drains and created again on the next message.
+ */
+@Slf4j
+@Component
+public class RoomActorRegistry {
+
+    private final Map<Long, RoomActor> actors = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Timer commandLatency;
+
+    @Value("${game.actor.taskTimeoutInSeconds:30}")
+    private Integer taskTimeoutSeconds;
+
+    public RoomActorRegistry(MeterRegistry registry) {
+        this.commandLatency = Timer.builder("bingo_room_command_latency")
+                .description("Time from enqueueing a room message until it finished, including mailbox wait")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        Gauge.builder("bingo_room_mailbox_pending", pending, AtomicInteger::get).register(registry);
+        Gauge.builder("bingo_room_actors", actors, Map::size).register(registry);
+    }
+
+    /**
+     * Enqueue a message for the room and complete when it has been processed.
+     */
+    public Mono<Void> ask(Long roomId, Supplier<Mono<Void>> task) {
+        return Mono.create(sink -> acquire(roomId).enqueue(new Envelope(task, sink, System.nanoTime())));
+    }
+
+    /**
+     * Enqueue a message for the room without waiting for it.
+     */
+    public void tell(Long roomId, Supplier<Mono<Void>> task) {
+        ask(roomId, task).subscribe(null, e -> log.error("Message for room {} failed", roomId, e));
+    }
+
+    /**
+     * The room's actor with one more message in flight. The count is only touched inside {@code compute}, so an
+     * actor is never evicted between being handed out and receiving its message.
+     */
+    private RoomActor acquire(Long roomId) {
+        return actors.compute(roomId, (id, actor) -> {
+            RoomActor acquired = actor != null ? actor : new RoomActor(id);
+            acquired.inFlight++;
+            return acquired;
+        });
+    }
+
+    private void release(RoomActor actor) {
+        boolean[] evicted = {false};
+        actors.computeIfPresent(actor.roomId, (id, current) -> {
+            if (current != actor || --actor.inFlight > 0) return current;
+            evicted[0] = true;
+            return null;
+        });
+        if (evicted[0]) actor.mailbox.tryEmitComplete();
+    }
+
+    private record Envelope(Supplier<Mono<Void>> task, MonoSink<Void> reply, long enqueuedAtNanos) {
+    }
+
+    private final class RoomActor {
+
+        private final Long roomId;
+        private final Sinks.Many<Envelope> mailbox = Sinks.many().unicast().onBackpressureBuffer();
+        private int inFlight; // guarded by the actors map entry
+
+        RoomActor(Long roomId) {
+            this.roomId = roomId;
+            mailbox.asFlux()
+                    .concatMap(this::process)
+                    .subscribe();
+        }
+
+        void enqueue(Envelope envelope) {
+            pending.incrementAndGet();
+            mailbox.emitNext(envelope, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        }
+
+        private Mono<Void> process(Envelope envelope) {
+            return Mono.defer(envelope.task())
+                    .timeout(Duration.ofSeconds(taskTimeoutSeconds))
+                    .doOnError(e -> log.warn("Room {} message failed: {}", roomId, e.toString()))
+                    .materialize()
+                    .doOnNext(signal -> {
+                        pending.decrementAndGet();
+                        commandLatency.record(System.nanoTime() - envelope.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+                        // Evict before replying, so a caller that sees the reply never finds a drained actor
+                        release(this);
+                        if (signal.isOnError()) envelope.reply().error(signal.getThrowable());
+                        else envelope.reply().success();
+                    })
+                    .then();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.ebingo.backend.game.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Node-wide scheduler for room deadlines (countdowns, draw ticks, end checks).
+ * <p>
+ * All rooms share a single hashed timer wheel instead of running their own
+ * {@code Flux.interval}/{@code Mono.delay} pipelines. Each room holds at most one
+ * pending timer per {@link TimerKind}; scheduling again for the same key replaces
+ * (reschedules) the previous timer. Timer callbacks are dispatched onto the
+ * parallel scheduler so the wheel thread only ever does bookkeeping.
+ */
+@Slf4j
+@Component
+public class RoomTickScheduler implements DisposableBean {
+
+    public enum TimerKind {
+        COUNTDOWN,
+        DRAW,
+        END_CHECK
+    }
+
+    private record TimerKey(Long roomId, TimerKind kind) {
+    }
+
+    private final HashedWheelTimer wheel;
+    private final Map<TimerKey, Timeout> timers = new ConcurrentHashMap<>();
+
+    private final Timer tickDrift;
+    private final Counter fired;
+    private final Counter failed;
+
+    public RoomTickScheduler(MeterRegistry registry,
+                             @Value("${game.scheduler.tickMillis:50}") long tickMillis,
+                             @Value("${game.scheduler.wheelSize:512}") int wheelSize) {
+        this.wheel = new HashedWheelTimer(
+                new DefaultThreadFactory("room-tick-wheel", true),
+                tickMillis, TimeUnit.MILLISECONDS, wheelSize);
+
+        this.tickDrift = Timer.builder("bingo_room_timer_drift")
+                .description("Delay between a room timer's deadline and the moment it fired")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.fired = Counter.builder("bingo_room_timers_fired").register(registry);
+        this.failed = Counter.builder("bingo_room_timers_failed").register(registry);
+        Gauge.builder("bingo_room_timers_pending", wheel, HashedWheelTimer::pendingTimeouts).register(registry);
+        Gauge.builder("bingo_room_timers_active", timers, Map::size).register(registry);
+    }
+
+    /**
+     * Schedule (or reschedule) the room timer of the given kind to run after {@code delay}.
+     */
+    public void schedule(Long roomId, TimerKind kind, Duration delay, Supplier<Mono<Void>> task) {
+        TimerKey key = new TimerKey(roomId, kind);
+        long delayNanos = Math.max(0, delay.toNanos());
+        long deadlineNanos = System.nanoTime() + delayNanos;
+
+        // The timeout is created inside compute, so one firing right away waits for the entry to be in place
+        timers.compute(key, (k, previous) -> {
+            if (previous != null) previous.cancel();
+            return wheel.newTimeout(t -> fire(key, t, deadlineNanos, task), delayNanos, TimeUnit.NANOSECONDS);
+        });
+        log.debug("Scheduled {} timer for room {} in {} ms", kind, roomId, TimeUnit.NANOSECONDS.toMillis(delayNanos));
+    }
+
+    /**
+     * Schedule (or reschedule) the room timer of the given kind to run at an absolute deadline.
+     * Deadlines already in the past fire on the next wheel tick.
+     */
+    public void scheduleAt(Long roomId, TimerKind kind, Instant deadline, Supplier<Mono<Void>> task) {
+        schedule(roomId, kind, Duration.between(Instant.now(), deadline), task);
+    }
+
+    public boolean cancel(Long roomId, TimerKind kind) {
+        Timeout removed = timers.remove(new TimerKey(roomId, kind));
+        return removed != null && removed.cancel();
+    }
+
+    public void cancelAll(Long roomId) {
+        for (TimerKind kind : TimerKind.values()) {
+            cancel(roomId, kind);
+        }
+    }
+
+    public boolean isScheduled(Long roomId, TimerKind kind) {
+        return timers.containsKey(new TimerKey(roomId, kind));
+    }
+
+    private void fire(TimerKey key, Timeout timeout, long deadlineNanos, Supplier<Mono<Void>> task) {
+        // Only this timer's own entry; a newer timer for the key stays scheduled
+        timers.remove(key, timeout);
+        tickDrift.record(Math.max(0, System.nanoTime() - deadlineNanos), TimeUnit.NANOSECONDS);
+        fired.increment();
+
+        Mono.defer(task)
+                .subscribeOn(Schedulers.parallel())
+                .subscribe(
+                        null,
+                        err -> {
+                            failed.increment();
+                            log.error("{} timer for room {} failed", key.kind(), key.roomId(), err);
+                        });
+    }
+
+    @Override
+    public void destroy() {
+        wheel.stop().forEach(Timeout::cancel);
+        timers.clear();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ebingo.backend.game.service.cluster;
+
+import com.ebingo.backend.game.service.GameService;
+import com.ebingo.backend.game.service.RoomActorRegistry;
+import com.ebingo.backend.system.redis.RedisKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Re-arms persisted countdowns of rooms owned by this node that have no local timer, so countdowns
+ * survive restarts and rebalances. Runs once on startup and then periodically.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CountdownWatcher implements DisposableBean {
+
+    private final ReactiveStringRedisTemplate redis;
+    private final GameService gameService;
+    private final RoomOwnershipService ownership;
+    private final RoomActorRegistry roomActors;
+
+    @Value("${game.countdown.watchIntervalInSeconds:5}")
+    private Integer watchIntervalSeconds;
+
+    private Disposable watcher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        watcher = Flux.interval(Duration.ZERO, Duration.ofSeconds(watchIntervalSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> resumeOrphanedCountdowns()
+                        .onErrorResume(e -> {
+                            log.warn("Countdown watch failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+        log.info("Countdown watcher started (every {}s)", watchIntervalSeconds);
+    }
+
+    private Mono<Void> resumeOrphanedCountdowns() {
+        return redis.opsForZSet().range(RedisKeys.pendingCountdownsKey(), Range.unbounded())
+                .map(Long::valueOf)
+                .filter(ownership::isLocal)
+                .flatMap(roomId -> roomActors.ask(roomId, () -> gameService.resumeCountdown(roomId)), 8)
+                .then();
+    }
+
+    /**
+     * Rooms that moved to another node drop their local countdown timer; the new owner re-arms it.
+     */
+    @EventListener
+    public void onOwnershipChanged(RoomOwnershipChangedEvent event) {
+        gameService.handOffCountdowns(roomId -> !ownership.isLocal(roomId));
+    }
+
+    @Override
+    public void destroy() {
+        if (watcher != null) watcher.dispose();
+    }
+}
@@ -0,0 +1,134 @@
+package com.ebingo.backend.game.service.cluster;
+
+import com.ebingo.backend.system.redis.RedisKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Renewable lease on a game's number drawing.
+ * <p>
+ * The holder renews the lease on every draw tick (see {@code GameStateService.drawNextNumber}); if the
+ * holder dies the lease simply expires and {@link DrawingLeaseWatcher} on another node resumes drawing.
+ * Games being drawn are tracked in {@link RedisKeys#activeDrawsKey()} until their loop finishes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DrawingLeaseService {
+
+    private final ReactiveStringRedisTemplate redis;
+    private final NodeIdentity nodeIdentity;
+
+    @Value("${game.draw.leaseTtlInSeconds:15}")
+    private Integer leaseTtlSeconds;
+
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('pexpire', KEYS[1], ARGV[2])
+            else
+                return 0
+            end
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('del', KEYS[1])
+            else
+                return 0
+            end
+            """, Long.class);
+
+    public Duration getLeaseTtl() {
+        return Duration.ofSeconds(leaseTtlSeconds);
+    }
+
+    /**
+     * Try to take the drawing lease for a game and register the game as being drawn.
+     *
+     * @return the lease token, or empty if another holder has a live lease
+     */
+    public Mono<String> tryAcquire(Long roomId, Long gameId) {
+        String token = nodeIdentity.getNodeId() + ":" + UUID.randomUUID();
+        return redis.opsForValue().setIfAbsent(RedisKeys.gameDrawingLockKey(gameId), token, getLeaseTtl())
+                .filter(Boolean.TRUE::equals)
+                .flatMap(acquired -> redis.opsForHash()
+                        .put(RedisKeys.activeDrawsKey(), String.valueOf(gameId), String.valueOf(roomId))
+                        .thenReturn(token))
+                .doOnNext(t -> log.info("Drawing lease for game {} acquired by {}", gameId, nodeIdentity.getNodeId()));
+    }
+
+    public Mono<Boolean> renew(Long gameId, String token) {
+        return redis.execute(RENEW_SCRIPT, List.of(RedisKeys.gameDrawingLockKey(gameId)),
+                        List.of(token, String.valueOf(getLeaseTtl().toMillis())))
+                .next()
+                .map(result -> result == 1L)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Give up the lease if still held with the given token. The game stays registered so another node can pick it up.
+     */
+    public Mono<Boolean> release(Long gameId, String token) {
+        return redis.execute(RELEASE_SCRIPT, List.of(RedisKeys.gameDrawingLockKey(gameId)), List.of(token))
+                .next()
+                .map(result -> result > 0)
+                .defaultIfEmpty(false)
+                .doOnNext(released -> {
+                    if (released) {
+                        log.info("Released drawing lease for game {}", gameId);
+                    } else {
+                        log.warn("Drawing lease for game {} was not released (owner mismatch or expired)", gameId);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to release drawing lease for game {}", gameId, e);
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Drawing for the game is over: drop it from the active-draw registry.
+     */
+    public Mono<Boolean> unregister(Long gameId) {
+        return redis.opsForHash().remove(RedisKeys.activeDrawsKey(), String.valueOf(gameId))
+                .map(removed -> removed > 0);
+    }
+
+    public Mono<Boolean> isHeld(Long gameId) {
+        return redis.hasKey(RedisKeys.gameDrawingLockKey(gameId));
+    }
+
+    /**
+     * Token of the current lease on the game's drawing, empty if nobody holds it.
+     */
+    public Mono<String> currentToken(Long gameId) {
+        return redis.opsForValue().get(RedisKeys.gameDrawingLockKey(gameId));
+    }
+
+    /**
+     * Id of the node that took the lease with the given token (tokens are {@code <nodeId>:<uuid>}).
+     */
+    public static String holderOf(String token) {
+        int separator = token.lastIndexOf(':');
+        return separator < 0 ? token : token.substring(0, separator);
+    }
+
+    /**
+     * Registered games as gameId -> roomId.
+     */
+    public Flux<Map.Entry<Long, Long>> activeDraws() {
+        return redis.opsForHash().entries(RedisKeys.activeDrawsKey())
+                .map(e -> Map.entry(Long.valueOf(e.getKey().toString()), Long.valueOf(e.getValue().toString())));
+    }
+}
@@ -0,0 +1,76 @@
+package com.ebingo.backend.game.service.cluster;
+
+import com.ebingo.backend.game.service.GameService;
+import com.ebingo.backend.game.service.RoomActorRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Runs on every node and resumes drawing for registered games, owned by this node, whose lease has
+ * expired, e.g. because the node that was drawing died or was redeployed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DrawingLeaseWatcher implements DisposableBean {
+
+    private final DrawingLeaseService leaseService;
+    private final GameService gameService;
+    private final RoomOwnershipService ownership;
+    private final RoomActorRegistry roomActors;
+
+    @Value("${game.draw.leaseWatchIntervalInSeconds:5}")
+    private Integer watchIntervalSeconds;
+
+    private Disposable watcher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        watcher = Flux.interval(Duration.ofSeconds(watchIntervalSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> resumeOrphanedDraws()
+                        .onErrorResume(e -> {
+                            log.warn("Drawing lease watch failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+        log.info("Drawing lease watcher started (every {}s)", watchIntervalSeconds);
+    }
+
+    private Mono<Void> resumeOrphanedDraws() {
+        return leaseService.activeDraws()
+                .filter(entry -> ownership.isLocal(entry.getValue()))
+                .filterWhen(entry -> leaseService.isHeld(entry.getKey()).map(held -> !held))
+                .flatMap(entry -> {
+                    log.info("Drawing lease for game {} (room {}) expired, trying to resume", entry.getKey(), entry.getValue());
+                    return roomActors.ask(entry.getValue(), () -> gameService.resumeNumberDrawing(entry.getValue(), entry.getKey()));
+                }, 8)
+                .then();
+    }
+
+    /**
+     * Rooms that moved to another node are handed off; their new owner resumes them on its next watch.
+     */
+    @EventListener
+    public void onOwnershipChanged(RoomOwnershipChangedEvent event) {
+        gameService.handOffDrawLoops(roomId -> !ownership.isLocal(roomId))
+                .subscribe(null, e -> log.warn("Failed to hand off draw loops after rebalance: {}", e.getMessage()));
+    }
+
+    @Override
+    public void destroy() {
+        if (watcher != null) watcher.dispose();
+        // Let other nodes take over immediately instead of waiting for our leases to expire
+        gameService.handOffDrawLoops(roomId -> true).block(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,127 @@
+package com.ebingo.backend.game.service.cluster;
+
+import com.ebingo.backend.game.enums.GameStatus;
+import com.ebingo.backend.game.service.GameService;
+import com.ebingo.backend.game.service.RoomActorRegistry;
+import com.ebingo.backend.game.service.state.GameStateService;
+import com.ebingo.backend.game.state.GameState;
+import com.ebingo.backend.system.redis.RedisKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resumes the in-flight games of rooms owned by this node right after startup, instead of leaving them to
+ * the periodic watchers once their drawing lease has expired.
+ * <p>
+ * Every COUNTDOWN game gets its timer re-armed from the persisted deadline. A PLAYING game is resumed from
+ * its draw sequence when its lease is free or held by a node that is no longer live; such an orphaned lease
+ * is released on the spot. Rooms are recovered in parallel. The same pass runs when nodes leave the cluster,
+ * for the rooms this node inherits from them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GameRecoveryService {
+
+    private final ReactiveStringRedisTemplate redis;
+    private final GameService gameService;
+    private final GameStateService gameStateService;
+    private final DrawingLeaseService leaseService;
+    private final RoomOwnershipService ownership;
+    private final RoomActorRegistry roomActors;
+
+    @Value("${game.recovery.concurrency:16}")
+    private Integer concurrency;
+
+    @Value("${game.stale.sweepScanCount:100}")
+    private Integer scanCount;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Ownership is only known after the first heartbeat
+        ownership.awaitMembership()
+                .then(recover("startup"))
+                .subscribe(null, e -> log.warn("Startup game recovery failed: {}", e.getMessage()));
+    }
+
+    @EventListener
+    public void onOwnershipChanged(RoomOwnershipChangedEvent event) {
+        if (event.currentNodes().containsAll(event.previousNodes())) return;
+
+        recover("rebalance")
+                .subscribe(null, e -> log.warn("Game recovery after rebalance failed: {}", e.getMessage()));
+    }
+
+    Mono<Void> recover(String trigger) {
+        long started = System.nanoTime();
+        AtomicInteger resumed = new AtomicInteger();
+
+        return redis.scan(ScanOptions.scanOptions().match(RedisKeys.gameStateKeyPattern()).count(scanCount).build())
+                .map(RedisKeys::roomIdOfGameStateKey)
+                .filter(ownership::isLocal)
+                .flatMap(roomId -> recoverRoom(roomId, started)
+                        .doOnNext(ok -> resumed.incrementAndGet())
+                        .onErrorResume(e -> {
+                            log.warn("Failed to recover game of room {}: {}", roomId, e.getMessage());
+                            return Mono.empty();
+                        }), concurrency)
+                .then(Mono.fromRunnable(() -> log.info("Game recovery ({}) resumed {} games in {}ms",
+                        trigger, resumed.get(), Duration.ofNanos(System.nanoTime() - started).toMillis())));
+    }
+
+    /**
+     * @return true once the room's game has been resumed, empty if there was nothing to resume
+     */
+    private Mono<Boolean> recoverRoom(Long roomId, long started) {
+        return gameStateService.getGameMeta(roomId)
+                .filter(state -> !state.isEnded())
+                .flatMap(state -> {
+                    if (GameStatus.COUNTDOWN.equals(state.getStatus())) {
+                        return roomActors.ask(roomId, () -> gameService.resumeCountdown(roomId))
+                                .thenReturn(state);
+                    }
+                    if (GameStatus.PLAYING.equals(state.getStatus()) && !Boolean.TRUE.equals(state.getStopNumberDrawing())) {
+                        return freeOrphanedLease(state.getGameId())
+                                .filter(Boolean.TRUE::equals)
+                                .flatMap(free -> roomActors.ask(roomId, () -> gameService.resumeNumberDrawing(roomId, state.getGameId()))
+                                        .thenReturn(state));
+                    }
+                    return Mono.empty();
+                })
+                .map(state -> {
+                    log.info("Resumed {} game {} in room {} {}ms into recovery, {}s after its last update",
+                            state.getStatus(), state.getGameId(), roomId,
+                            Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                            state.getStatusUpdatedAt() != null
+                                    ? Duration.between(state.getStatusUpdatedAt(), Instant.now()).toSeconds() : -1);
+                    return true;
+                });
+    }
+
+    /**
+     * Whether the game's drawing lease can be taken now: nobody holds it, or its holder is no longer a live
+     * node, in which case the lease is released.
+     */
+    private Mono<Boolean> freeOrphanedLease(Long gameId) {
+        return leaseService.currentToken(gameId)
+                .flatMap(token -> {
+                    String holder = DrawingLeaseService.holderOf(token);
+                    if (ownership.liveNodes().contains(holder)) return Mono.just(false);
+
+                    log.info("Drawing lease of game {} is held by {}, which is gone; releasing it", gameId, holder);
+                    return leaseService.release(gameId, token);
+                })
+                .defaultIfEmpty(true);
+    }
+}
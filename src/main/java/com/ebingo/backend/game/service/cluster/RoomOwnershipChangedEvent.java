@@ -0,0 +1,9 @@
+package com.ebingo.backend.game.service.cluster;
+
+import java.util.Set;
+
+/**
+ * Published when the set of live nodes changes and rooms may have moved to another owner.
+ */
+public record RoomOwnershipChangedEvent(Set<String> previousNodes, Set<String> currentNodes) {
+}
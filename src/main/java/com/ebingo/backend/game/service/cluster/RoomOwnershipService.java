@@ -0,0 +1,131 @@
+package com.ebingo.backend.game.service.cluster;
+
+import com.ebingo.backend.system.redis.RedisKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns every room to exactly one live node using consistent hashing.
+ * <p>
+ * Nodes register themselves in {@link RedisKeys#clusterNodesKey()} with a heartbeat; members whose
+ * heartbeat is older than the member TTL are considered gone. The ring is rebuilt on every heartbeat
+ * and a {@link RoomOwnershipChangedEvent} is published when membership changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoomOwnershipService implements DisposableBean {
+
+    private final ReactiveStringRedisTemplate redis;
+    private final NodeIdentity nodeIdentity;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${game.cluster.heartbeatIntervalInSeconds:2}")
+    private Integer heartbeatIntervalSeconds;
+
+    @Value("${game.cluster.memberTtlInSeconds:10}")
+    private Integer memberTtlSeconds;
+
+    @Value("${game.cluster.virtualNodes:128}")
+    private Integer virtualNodes;
+
+    private volatile ConsistentHashRing ring = ConsistentHashRing.empty();
+    private final Sinks.Empty<Void> membershipKnown = Sinks.empty();
+    private Disposable heartbeat;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        heartbeat = Flux.interval(Duration.ZERO, Duration.ofSeconds(heartbeatIntervalSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> refreshMembership()
+                        .onErrorResume(e -> {
+                            log.warn("Cluster heartbeat failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /**
+     * @return id of the node that owns the room; this node while the ring is still empty
+     */
+    public String ownerOf(Long roomId) {
+        String owner = ring.ownerOf(roomId);
+        return owner != null ? owner : nodeIdentity.getNodeId();
+    }
+
+    /**
+     * Whether this node owns the room. False until the first heartbeat has read the cluster membership, so the
+     * watchers do not claim every room while the ring is still empty.
+     */
+    public boolean isLocal(Long roomId) {
+        return nodeIdentity.getNodeId().equals(ring.ownerOf(roomId));
+    }
+
+    public String getLocalNodeId() {
+        return nodeIdentity.getNodeId();
+    }
+
+    /**
+     * Nodes with a live heartbeat, as of the last refresh.
+     */
+    public Set<String> liveNodes() {
+        return ring.getNodes();
+    }
+
+    /**
+     * Completes once the first heartbeat has read the cluster membership; until then no room counts as local.
+     */
+    public Mono<Void> awaitMembership() {
+        return membershipKnown.asMono();
+    }
+
+    private Mono<Void> refreshMembership() {
+        String key = RedisKeys.clusterNodesKey();
+        long now = System.currentTimeMillis();
+        long cutoff = now - Duration.ofSeconds(memberTtlSeconds).toMillis();
+
+        return redis.opsForZSet().add(key, nodeIdentity.getNodeId(), now)
+                .then(redis.opsForZSet().removeRangeByScore(key, Range.closed(Double.NEGATIVE_INFINITY, (double) cutoff)))
+                .thenMany(redis.opsForZSet().range(key, Range.unbounded()))
+                .collect(Collectors.toSet())
+                .doOnNext(liveNodes -> {
+                    updateRing(liveNodes);
+                    membershipKnown.tryEmitEmpty();
+                })
+                .then();
+    }
+
+    private void updateRing(Set<String> liveNodes) {
+        ConsistentHashRing current = ring;
+        if (current.getNodes().equals(liveNodes)) return;
+
+        ring = new ConsistentHashRing(liveNodes, virtualNodes);
+        log.info("Cluster membership changed: {} -> {}", current.getNodes(), liveNodes);
+        eventPublisher.publishEvent(new RoomOwnershipChangedEvent(current.getNodes(), liveNodes));
+    }
+
+    @Override
+    public void destroy() {
+        if (heartbeat != null) heartbeat.dispose();
+        // Leave the ring right away so rooms are reassigned without waiting for the member TTL
+        redis.opsForZSet().remove(RedisKeys.clusterNodesKey(), nodeIdentity.getNodeId())
+                .onErrorResume(e -> Mono.empty())
+                .block(Duration.ofSeconds(2));
+    }
+}
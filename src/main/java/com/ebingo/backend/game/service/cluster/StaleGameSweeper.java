@@ -0,0 +1,103 @@
+package com.ebingo.backend.game.service.cluster;
+
+import com.ebingo.backend.game.service.GameMetrics;
+import com.ebingo.backend.game.service.GameService;
+import com.ebingo.backend.game.service.RoomActorRegistry;
+import com.ebingo.backend.system.redis.RedisKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically walks the game state keys with SCAN and cleans up the stale games of rooms owned by this
+ * node (see {@link GameService#sweepStaleGame}), instead of waiting for the next player to open the room.
+ * Each room is swept on its actor, so a sweep never races the room's own commands.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StaleGameSweeper implements DisposableBean {
+
+    // Rooms swept at the same time
+    private static final int SWEEP_CONCURRENCY = 4;
+
+    private final ReactiveStringRedisTemplate redis;
+    private final GameService gameService;
+    private final RoomOwnershipService ownership;
+    private final RoomActorRegistry roomActors;
+    private final GameMetrics gameMetrics;
+
+    @Value("${game.stale.ttlInMinutes:5}")
+    private Integer staleTtlMinutes;
+
+    @Value("${game.stale.sweepIntervalInSeconds:60}")
+    private Integer sweepIntervalSeconds;
+
+    @Value("${game.stale.sweepScanCount:100}")
+    private Integer scanCount;
+
+    private Disposable sweeper;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sweeper = Flux.interval(Duration.ofSeconds(sweepIntervalSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> sweep()
+                        .onErrorResume(e -> {
+                            log.warn("Stale game sweep failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+        log.info("Stale game sweeper started (every {}s, stale after {}m)", sweepIntervalSeconds, staleTtlMinutes);
+    }
+
+    Mono<Void> sweep() {
+        Instant staleBefore = Instant.now().minus(Duration.ofMinutes(staleTtlMinutes));
+        AtomicLong gamesSwept = new AtomicLong();
+        AtomicLong keysReclaimed = new AtomicLong();
+        long started = System.nanoTime();
+
+        // SCAN pulls the next cursor page only as rooms are consumed, so the keyspace is never listed at once
+        return redis.scan(ScanOptions.scanOptions().match(RedisKeys.gameStateKeyPattern()).count(scanCount).build())
+                .map(RedisKeys::roomIdOfGameStateKey)
+                .filter(ownership::isLocal)
+                .flatMap(roomId -> roomActors.ask(roomId, () -> gameService.sweepStaleGame(roomId, staleBefore)
+                        .filter(reclaimed -> reclaimed > 0)
+                        .doOnNext(reclaimed -> {
+                            gamesSwept.incrementAndGet();
+                            keysReclaimed.addAndGet(reclaimed);
+                        })
+                        .then())
+                        .onErrorResume(e -> {
+                            // One bad room must not end the sweep of the others
+                            log.warn("Failed to sweep stale game of room {}: {}", roomId, e.getMessage());
+                            return Mono.empty();
+                        }), SWEEP_CONCURRENCY)
+                .then(Mono.fromRunnable(() -> {
+                    Duration took = Duration.ofNanos(System.nanoTime() - started);
+                    gameMetrics.recordStaleSweep(took, gamesSwept.get(), keysReclaimed.get());
+                    if (gamesSwept.get() > 0) {
+                        log.info("Swept {} stale games, {} keys reclaimed in {}ms",
+                                gamesSwept.get(), keysReclaimed.get(), took.toMillis());
+                    }
+                }));
+    }
+
+    @Override
+    public void destroy() {
+        if (sweeper != null) sweeper.dispose();
+    }
+}
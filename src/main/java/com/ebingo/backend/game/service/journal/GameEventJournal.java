@@ -0,0 +1,108 @@
+package com.ebingo.backend.game.service.journal;
+
+import com.ebingo.backend.system.redis.RedisKeys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends game events (countdown, start, draws, joins, leaves, claims, end) to the game's Redis stream.
+ * <p>
+ * Appending is one round trip and never touches Postgres; {@link GameEventSink} copies the streams to the
+ * {@code game_event} table in the background. The first append of a game creates its stream together with
+ * the sink's consumer group and registers it in {@link RedisKeys#gameEventStreamsKey()}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GameEventJournal {
+
+    public static final String CONSUMER_GROUP = "game-event-sink";
+
+    static final Duration STREAM_TTL = Duration.ofHours(24);
+
+    /**
+     * Lua function shared with scripts that append an event as part of a larger change (see the draw tick).
+     * Stream entries hold {@code type}, {@code roomId} and the JSON {@code payload}; the entry id carries the time.
+     */
+    public static final String APPEND_EVENT_FUNCTION = """
+            local function appendEvent(stream, registry, group, maxlen, ttl, eventType, roomId, payload)
+                if redis.call('exists', stream) == 0 then
+                    redis.pcall('xgroup', 'create', stream, group, '0', 'MKSTREAM')
+                end
+                redis.call('sadd', registry, stream)
+                local id = redis.call('xadd', stream, 'MAXLEN', '~', maxlen, '*',
+                    'type', eventType, 'roomId', roomId, 'payload', payload)
+                redis.call('expire', stream, ttl)
+                return id
+            end
+            """;
+
+    /**
+     * KEYS[1] = game event stream, KEYS[2] = stream registry
+     * ARGV[1] = consumer group, ARGV[2] = max length, ARGV[3] = ttl seconds, ARGV[4] = type, ARGV[5] = roomId,
+     * ARGV[6] = payload JSON
+     */
+    private static final RedisScript<String> APPEND_SCRIPT = RedisScript.of(APPEND_EVENT_FUNCTION + """
+            return appendEvent(KEYS[1], KEYS[2], ARGV[1], ARGV[2], ARGV[3], ARGV[4], ARGV[5], ARGV[6])
+            """, String.class);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+
+    @Value("${game.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${game.journal.maxLength:10000}")
+    private Long maxLength;
+
+    /**
+     * Append an event to the game's journal. Failures are logged and swallowed, so journaling never
+     * breaks the game flow that reports the event.
+     */
+    public Mono<Void> append(Long gameId, Long roomId, String type, Object payload) {
+        if (!enabled || gameId == null) return Mono.empty();
+
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(payload))
+                .flatMap(json -> redis.execute(APPEND_SCRIPT,
+                                List.of(RedisKeys.gameEventStreamKey(gameId), RedisKeys.gameEventStreamsKey()),
+                                scriptArgs(type, roomId, json))
+                        .next())
+                .onErrorResume(e -> {
+                    log.warn("Failed to journal {} of game {}: {}", type, gameId, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Whether events are journaled; scripts that append through {@link #APPEND_EVENT_FUNCTION} check it too.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stream arguments of {@link #APPEND_EVENT_FUNCTION}, in order: group, max length, ttl seconds.
+     */
+    public List<String> streamArgs() {
+        return List.of(CONSUMER_GROUP, String.valueOf(maxLength), String.valueOf(STREAM_TTL.toSeconds()));
+    }
+
+    private List<String> scriptArgs(String type, Long roomId, String payloadJson) {
+        List<String> args = new ArrayList<>(streamArgs());
+        args.add(type);
+        args.add(String.valueOf(roomId));
+        args.add(payloadJson);
+        return args;
+    }
+}
@@ -0,0 +1,237 @@
+package com.ebingo.backend.game.service.journal;
+
+import com.ebingo.backend.game.service.GameMetrics;
+import com.ebingo.backend.game.service.cluster.NodeIdentity;
+import com.ebingo.backend.system.redis.RedisKeys;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Copies the game event streams written by {@link GameEventJournal} to the {@code game_event} table.
+ * <p>
+ * Every node is a consumer of the {@link GameEventJournal#CONSUMER_GROUP} group, so each entry is copied by one
+ * node. Entries are inserted in batches and acknowledged only after the insert, so a failed batch is retried;
+ * the (game_id, stream_id) unique key makes a retried insert a no-op. Entries left pending by a node that went
+ * away are claimed once they have been idle for {@code game.journal.sink.claimIdleInSeconds}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GameEventSink implements DisposableBean {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO game_event (game_id, room_id, stream_id, event_type, payload, occurred_at) " +
+                    "VALUES ($1, $2, $3, $4, $5, $6) ON CONFLICT (game_id, stream_id) DO NOTHING";
+
+    // Streams read per XREADGROUP call
+    private static final int STREAMS_PER_READ = 64;
+
+    private final ReactiveStringRedisTemplate redis;
+    private final DatabaseClient databaseClient;
+    private final NodeIdentity nodeIdentity;
+    private final GameMetrics gameMetrics;
+
+    @Value("${game.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${game.journal.sink.intervalInMillis:1000}")
+    private Long intervalMillis;
+
+    @Value("${game.journal.sink.batchSize:500}")
+    private Integer batchSize;
+
+    @Value("${game.journal.sink.claimIdleInSeconds:60}")
+    private Integer claimIdleSeconds;
+
+    private Disposable sink;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+
+        Flux<Void> copy = Flux.interval(Duration.ofMillis(intervalMillis))
+                .onBackpressureDrop()
+                .concatMap(tick -> drain()
+                        .onErrorResume(e -> {
+                            log.warn("Game event copy failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }));
+        Flux<Void> recover = Flux.interval(Duration.ZERO, Duration.ofSeconds(claimIdleSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> recoverPending()
+                        .onErrorResume(e -> {
+                            log.warn("Game event recovery failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }));
+
+        sink = Flux.merge(copy, recover).subscribe();
+        log.info("Game event sink started (every {}ms, batches of {})", intervalMillis, batchSize);
+    }
+
+    /**
+     * Read new entries of every registered stream and copy them.
+     */
+    Mono<Void> drain() {
+        Consumer consumer = Consumer.from(GameEventJournal.CONSUMER_GROUP, nodeIdentity.getNodeId());
+
+        return redis.opsForSet().members(RedisKeys.gameEventStreamsKey())
+                .buffer(STREAMS_PER_READ)
+                .concatMap(keys -> {
+                    @SuppressWarnings("unchecked")
+                    StreamOffset<String>[] offsets = keys.stream()
+                            .map(key -> StreamOffset.create(key, ReadOffset.lastConsumed()))
+                            .toArray(StreamOffset[]::new);
+
+                    return redis.opsForStream()
+                            .read(consumer, StreamReadOptions.empty().count(batchSize), offsets)
+                            .collectList()
+                            // A stream that expired since it was registered fails the whole read; drop it
+                            .onErrorResume(e -> pruneMissing(keys).thenReturn(List.of()))
+                            .flatMap(this::persist);
+                })
+                .then();
+    }
+
+    /**
+     * Drop streams that no longer exist from the registry and take over entries that stayed unacknowledged
+     * for too long, e.g. because their consumer went away or the insert failed.
+     */
+    Mono<Void> recoverPending() {
+        Duration claimIdle = Duration.ofSeconds(claimIdleSeconds);
+
+        return redis.opsForSet().members(RedisKeys.gameEventStreamsKey())
+                .concatMap(key -> redis.hasKey(key)
+                        .flatMap(exists -> {
+                            if (!Boolean.TRUE.equals(exists)) {
+                                return redis.opsForSet().remove(RedisKeys.gameEventStreamsKey(), key).then();
+                            }
+                            return redis.opsForStream()
+                                    .pending(key, GameEventJournal.CONSUMER_GROUP, Range.unbounded(), batchSize)
+                                    .flatMapMany(pending -> {
+                                        RecordId[] stale = pending.stream()
+                                                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0)
+                                                .map(PendingMessage::getId)
+                                                .toArray(RecordId[]::new);
+                                        if (stale.length == 0) return Flux.empty();
+                                        return redis.opsForStream().claim(key, GameEventJournal.CONSUMER_GROUP,
+                                                nodeIdentity.getNodeId(), claimIdle, stale);
+                                    })
+                                    .collectList()
+                                    .flatMap(this::persist);
+                        }))
+                .then();
+    }
+
+    private Mono<Void> persist(List<MapRecord<String, Object, Object>> records) {
+        if (records.isEmpty()) return Mono.empty();
+
+        return insert(records)
+                .then(Flux.fromIterable(groupByStream(records).entrySet())
+                        .concatMap(entry -> redis.opsForStream()
+                                .acknowledge(entry.getKey(), GameEventJournal.CONSUMER_GROUP,
+                                        entry.getValue().toArray(RecordId[]::new))
+                                .then(retireIfEnded(entry.getKey(), records)))
+                        .then())
+                .doOnSuccess(v -> gameMetrics.incGameEventsPersisted(records.size()));
+    }
+
+    /**
+     * Insert the entries as one batch statement.
+     */
+    private Mono<Void> insert(List<MapRecord<String, Object, Object>> records) {
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(INSERT_SQL);
+                    for (int i = 0; i < records.size(); i++) {
+                        if (i > 0) statement.add();
+                        bind(statement, records.get(i));
+                    }
+                    return Flux.from(statement.execute()).flatMap(result -> result.getRowsUpdated());
+                })
+                .then();
+    }
+
+    private void bind(Statement statement, MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        Long roomId = parseLong(fields.get("roomId"));
+
+        statement.bind(0, gameIdOf(record.getStream()));
+        if (roomId != null) statement.bind(1, roomId);
+        else statement.bindNull(1, Long.class);
+        statement.bind(2, record.getId().getValue());
+        statement.bind(3, String.valueOf(fields.get("type")));
+        statement.bind(4, String.valueOf(fields.get("payload")));
+        statement.bind(5, Instant.ofEpochMilli(record.getId().getTimestamp()));
+    }
+
+    /**
+     * Once a game's end has been copied and nothing of its stream is pending, stop reading the stream.
+     * A late event registers it again.
+     */
+    private Mono<Void> retireIfEnded(String key, List<MapRecord<String, Object, Object>> records) {
+        boolean ended = records.stream()
+                .anyMatch(record -> key.equals(record.getStream()) && "game.ended".equals(record.getValue().get("type")));
+        if (!ended) return Mono.empty();
+
+        return redis.opsForStream().pending(key, GameEventJournal.CONSUMER_GROUP)
+                .filter(summary -> summary.getTotalPendingMessages() == 0)
+                .flatMap(summary -> redis.opsForSet().remove(RedisKeys.gameEventStreamsKey(), key))
+                .then();
+    }
+
+    private Mono<Void> pruneMissing(List<String> keys) {
+        return Flux.fromIterable(keys)
+                .concatMap(key -> redis.hasKey(key)
+                        .filter(exists -> !exists)
+                        .flatMap(missing -> redis.opsForSet().remove(RedisKeys.gameEventStreamsKey(), key)))
+                .then();
+    }
+
+    private static Map<String, List<RecordId>> groupByStream(List<MapRecord<String, Object, Object>> records) {
+        return records.stream().collect(Collectors.groupingBy(MapRecord::getStream, LinkedHashMap::new,
+                Collectors.mapping(MapRecord::getId, Collectors.toList())));
+    }
+
+    // Stream keys look like game:<gameId>:events
+    private static Long gameIdOf(String streamKey) {
+        return Long.valueOf(streamKey.split(":")[1]);
+    }
+
+    private static Long parseLong(Object value) {
+        try {
+            return value == null ? null : Long.valueOf(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (sink != null) sink.dispose();
+    }
+}
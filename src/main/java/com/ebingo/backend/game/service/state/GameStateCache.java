@@ -0,0 +1,235 @@
+package com.ebingo.backend.game.service.state;
+
+import com.ebingo.backend.game.service.GameMetrics;
+import com.ebingo.backend.game.state.GameState;
+import com.ebingo.backend.system.redis.RedisBatch;
+import com.ebingo.backend.system.redis.RedisKeys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-node near cache of {@link GameState}, keyed by room.
+ * <p>
+ * Every write to a room's game state publishes an invalidation on
+ * {@link RedisKeys#gameStateInvalidationChannel()}: {@code room:<roomId>:<version>} for writes to the
+ * game hash (whose {@code version} field is bumped on every write) and {@code game:<gameId>} for writes
+ * to the game's side keys (players, drawn numbers, selected cards, ...). Each node evicts on receipt.
+ * <p>
+ * A fill is only kept if no invalidation for the room arrived while it was loading and its version is not
+ * older than the newest invalidated version, so a slow read never overwrites a newer write. Entries also
+ * expire after {@code game.state.cache.maxAgeInMillis} as a safety net for lost messages.
+ * Callers always get their own copy.
+ */
+@Slf4j
+@Component
+public class GameStateCache {
+
+    private record Entry(GameState state, long loadedAtNanos) {
+    }
+
+    private final ReactiveStringRedisTemplate redis;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final GameMetrics metrics;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every invalidation of a room; fills that raced with one are dropped
+    private final Map<Long, AtomicLong> epochs = new ConcurrentHashMap<>();
+    // Newest game hash version announced per room
+    private final Map<Long, Long> invalidatedVersions = new ConcurrentHashMap<>();
+    // gameId -> roomId of cached games, to resolve game-level invalidations
+    private final Map<Long, Long> gameRooms = new ConcurrentHashMap<>();
+    // Game-level invalidations can't be tied to a room until its state is loaded, so any of them drops in-flight fills
+    private final AtomicLong gameInvalidations = new AtomicLong();
+
+    private volatile boolean listening = false;
+
+    @Value("${game.state.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${game.state.cache.maxAgeInMillis:10000}")
+    private long maxAgeMillis;
+
+    public GameStateCache(ReactiveStringRedisTemplate redis,
+                          ReactiveRedisMessageListenerContainer listenerContainer,
+                          GameMetrics metrics) {
+        this.redis = redis;
+        this.listenerContainer = listenerContainer;
+        this.metrics = metrics;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void listenForInvalidations() {
+        listenerContainer.receive(ChannelTopic.of(RedisKeys.gameStateInvalidationChannel()))
+                .map(ReactiveSubscription.Message::getMessage)
+                .doOnSubscribe(s -> listening = true)
+                .doOnTerminate(() -> {
+                    // Without invalidations the cache cannot stay coherent
+                    listening = false;
+                    entries.clear();
+                })
+                .subscribe(this::applyInvalidation, e -> log.error("Game state invalidation listener failed", e));
+    }
+
+    /**
+     * Cached state of the room, or the result of {@code loader} (which is cached if still current).
+     */
+    public Mono<GameState> get(Long roomId, Supplier<Mono<GameState>> loader) {
+        if (!enabled || !listening) {
+            return Mono.defer(loader);
+        }
+
+        Entry entry = entries.get(roomId);
+        if (entry != null && isFresh(entry)) {
+            metrics.incGameStateCacheHit();
+            return Mono.just(entry.state().copy());
+        }
+
+        metrics.incGameStateCacheMiss();
+        long epoch = epochOf(roomId).get();
+        long gameEpoch = gameInvalidations.get();
+        return Mono.defer(loader)
+                .doOnNext(state -> fill(roomId, epoch, gameEpoch, state));
+    }
+
+    /**
+     * Copy of the cached state of the room, or null if there is no current entry. Doesn't load anything.
+     */
+    public GameState getIfPresent(Long roomId) {
+        if (!enabled || !listening) return null;
+
+        Entry entry = entries.get(roomId);
+        if (entry != null && isFresh(entry)) {
+            metrics.incGameStateCacheHit();
+            return entry.state().copy();
+        }
+        metrics.incGameStateCacheMiss();
+        return null;
+    }
+
+    /**
+     * Evict the room everywhere after a write to its game hash.
+     *
+     * @param version the game hash version written, or -1 if the hash was deleted
+     */
+    public Mono<Void> invalidateRoom(Long roomId, long version) {
+        String message = "room:" + roomId + ":" + version;
+        applyInvalidation(message);
+        return publish(message);
+    }
+
+    /**
+     * Evict the game's room everywhere after a write to one of the game's side keys.
+     */
+    public Mono<Void> invalidateGame(Long gameId) {
+        String message = "game:" + gameId;
+        applyInvalidation(message);
+        return publish(message);
+    }
+
+    /**
+     * Add the game-level invalidation to a batch of writes, so it goes out in the same round trip.
+     * Call {@link #evictGameLocally} once the batch has run.
+     */
+    public void addGameInvalidation(RedisBatch batch, Long gameId) {
+        batch.publish(RedisKeys.gameStateInvalidationChannel(), "game:" + gameId);
+    }
+
+    public void evictGameLocally(Long gameId) {
+        applyInvalidation("game:" + gameId);
+    }
+
+    /**
+     * Add the room's invalidation to a batch of writes to its game hash. Call {@link #evictRoomLocally} once
+     * the batch has run.
+     *
+     * @param version the game hash version written, or -1 if the hash was deleted
+     */
+    public void addRoomInvalidation(RedisBatch batch, Long roomId, long version) {
+        batch.publish(RedisKeys.gameStateInvalidationChannel(), "room:" + roomId + ":" + version);
+    }
+
+    public void evictRoomLocally(Long roomId, long version) {
+        applyInvalidation("room:" + roomId + ":" + version);
+    }
+
+    /**
+     * Evict the room on this node only, for writes whose invalidation was already published elsewhere
+     * (e.g. by a Lua script).
+     */
+    public void evictLocally(Long roomId) {
+        evict(roomId);
+    }
+
+    private Mono<Void> publish(String message) {
+        return redis.convertAndSend(RedisKeys.gameStateInvalidationChannel(), message)
+                .onErrorResume(e -> {
+                    log.warn("Failed to publish game state invalidation {}: {}", message, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private boolean isFresh(Entry entry) {
+        return System.nanoTime() - entry.loadedAtNanos() < TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+    }
+
+    private void fill(Long roomId, long epoch, long gameEpoch, GameState state) {
+        if (epochOf(roomId).get() != epoch || gameInvalidations.get() != gameEpoch) return;
+        if (state.getVersion() < invalidatedVersions.getOrDefault(roomId, 0L)) return;
+
+        entries.put(roomId, new Entry(state.copy(), System.nanoTime()));
+        if (state.getGameId() != null) {
+            gameRooms.put(state.getGameId(), roomId);
+        }
+    }
+
+    private void applyInvalidation(String message) {
+        String[] parts = message.split(":");
+        try {
+            if ("room".equals(parts[0]) && parts.length == 3) {
+                Long roomId = Long.valueOf(parts[1]);
+                long version = Long.parseLong(parts[2]);
+                if (version < 0) {
+                    invalidatedVersions.remove(roomId); // hash deleted, versions start over
+                } else {
+                    invalidatedVersions.merge(roomId, version, Math::max);
+                }
+                evict(roomId);
+            } else if ("game".equals(parts[0]) && parts.length == 2) {
+                gameInvalidations.incrementAndGet();
+                Long roomId = gameRooms.get(Long.valueOf(parts[1]));
+                if (roomId != null) evict(roomId);
+            } else {
+                log.warn("Ignoring malformed game state invalidation {}", message);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed game state invalidation {}", message);
+        }
+    }
+
+    private void evict(Long roomId) {
+        epochOf(roomId).incrementAndGet();
+        Entry removed = entries.remove(roomId);
+        if (removed != null && removed.state().getGameId() != null) {
+            gameRooms.remove(removed.state().getGameId(), roomId);
+        }
+    }
+
+    private AtomicLong epochOf(Long roomId) {
+        return epochs.computeIfAbsent(roomId, id -> new AtomicLong());
+    }
+}
@@ -6,10 +6,16 @@ import com.ebingo.backend.game.mappers.GameMapper;
 import com.ebingo.backend.game.repository.GameRepository;
 import com.ebingo.backend.game.repository.RoomRepository;
 import com.ebingo.backend.game.service.CardPoolService;
+import com.ebingo.backend.game.service.GameMetrics;
 import com.ebingo.backend.game.service.RedisPublisher;
+import com.ebingo.backend.game.service.journal.GameEventJournal;
 import com.ebingo.backend.game.state.GameState;
+import com.ebingo.backend.game.state.GameStateFacet;
 import com.ebingo.backend.game.state.PlayerState;
+import com.ebingo.backend.system.redis.RedisBatch;
+import com.ebingo.backend.system.redis.RedisBatchExecutor;
 import com.ebingo.backend.system.redis.RedisKeys;
+import com.ebingo.backend.system.exceptions.StaleGameStateException;
 import com.ebingo.backend.system.service.SystemConfigService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -20,17 +26,25 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.ReactiveHashOperations;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -40,6 +54,7 @@ public class GameStateService {
     private final ReactiveRedisTemplate<String, Object> redis;
     private final ReactiveHashOperations<String, String, Object> hashOps;
     private final ReactiveSetOperations<String, String> setOps;
+    private final ReactiveStringRedisTemplate stringRedis;
     private final CardPoolService cardPoolService;
     private final PlayerStateService playerStateService; // Add this dependency
     private final RedissonReactiveClient redissonReactiveClient;
@@ -49,13 +64,33 @@ public class GameStateService {
     //    private final RoomService roomService;
     private final RoomRepository roomRepository;
     private final ObjectMapper objectMapper;
+    private final GameStateCache gameStateCache;
+    private final RedisBatchExecutor redisBatches;
+    private final GameMetrics gameMetrics;
+    private final GameEventJournal gameEventJournal;
 //    private final RoomStateService roomStateService;
 
     @Value("${game.stale.ttlInMinutes:5}")
     private Integer gameStaleTTLInMinutes;
 
+    @Value("${game.state.casMaxAttempts:5}")
+    private Integer casMaxAttempts;
+
     private static final Duration GAME_STATE_TTL = Duration.ofHours(24);
 
+    private static final int MAX_DRAW_NUMBER = 75;
+
+    // KEYS[1] = draw sequence, KEYS[2] = drawn log; ARGV[1] = ttl seconds, ARGV[2..] = permutation
+    private static final RedisScript<Long> INIT_DRAW_SEQUENCE_SCRIPT = RedisScript.of("""
+            if redis.call('exists', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('del', KEYS[2])
+            redis.call('rpush', KEYS[1], unpack(ARGV, 2))
+            redis.call('expire', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
     // ----------------------------
     // Initialize Game
     // ----------------------------
@@ -91,13 +126,10 @@ public class GameStateService {
 
     public Mono<GameState> initializeGameWithLock(Long roomId, String userId, int capacity) {
         return initializeGameWithLockWithRetry(roomId, userId, capacity)
-                .flatMap(gs ->
-                        Mono.zip(
-                                cardPoolService.getAllCardIds(roomId),
-                                playerStateService.getPlayerCardIds(gs.getGameId(), userId)
-                        ).map(tuple -> {
-                            gs.setAllCardIds(tuple.getT1());
-                            gs.setUserSelectedCardsIds(tuple.getT2());
+                .flatMap(gs -> playerStateService.getPlayerCardIds(gs.getGameId(), userId)
+                        .map(userCardIds -> {
+                            gs.setAllCardIds(cardPoolService.poolCardIds(gs.getCapacity()));
+                            gs.setUserSelectedCardsIds(userCardIds);
                             return gs;
                         })
                 );
@@ -163,14 +195,9 @@ public class GameStateService {
                                                 Mono.just(lock),
                                                 l -> initializeGame(roomId, capacity)
                                                         .flatMap(this::saveGameStateToDb)
-                                                        .flatMap(gsFromDb ->
-                                                                cardPoolService.getCurrentPool(roomId)
-                                                                        .flatMap(pool ->
-                                                                                gsFromDb.setCurrentCardPool(pool)
-                                                                                        .then(saveGameStateToRedis(gsFromDb, roomId))
-                                                                                        .thenReturn(gsFromDb)
-                                                                        )
-                                                        ),
+                                                        .doOnNext(gsFromDb -> gsFromDb.setCardPoolVersion(cardPoolService.poolVersion(gsFromDb.getCapacity())))
+                                                        .flatMap(gsFromDb -> saveGameStateToRedis(gsFromDb, roomId)
+                                                                .thenReturn(gsFromDb)),
                                                 l -> l.unlock().onErrorResume(e -> Mono.empty())
                                         );
                                     } else {
@@ -237,26 +264,24 @@ public class GameStateService {
 
 
         gameState.setDrawnNumber(new LinkedHashSet<>());
-        gameState.setCurrentCardPool(List.of());
         gameState.setJoinedPlayers(Set.of());
         gameState.setUserSelectedCardsIds(Set.of());
         gameState.setAllCardIds(Set.of());
         gameState.setAllSelectedCardsIds(Set.of());
 
+        // The pool is library cards #1..#capacity; nothing to generate or store
         return Mono.zip(
-                cardPoolService.generateAndStoreCurrentPool(roomId, capacity),
                 systemConfigService.getSystemConfig("COMMISSION_RATE"),
                 roomRepository.findById(roomId)
         ).map(tuple -> {
-            var commissionConfig = tuple.getT2();
+            var commissionConfig = tuple.getT1();
             log.info("===============_______========________Commission rate: {}", commissionConfig);
-            log.info("===============_______========________ROOM: {}", tuple.getT3());
-            gameState.setCurrentCardPool(tuple.getT1());
+            log.info("===============_______========________ROOM: {}", tuple.getT2());
             gameState.setCommissionRate(
                     Double.parseDouble(commissionConfig.getValue())
             );
-            gameState.setEntryFee(tuple.getT3().getEntryFee().doubleValue());
-            gameState.setCapacity(tuple.getT3().getCapacity());
+            gameState.setEntryFee(tuple.getT2().getEntryFee().doubleValue());
+            gameState.setCapacity(tuple.getT2().getCapacity());
             return gameState;
         });
 
@@ -280,6 +305,29 @@ public class GameStateService {
     public Mono<Boolean> saveGameStateToRedis(GameState gameState, Long roomId) {
         String gameKey = RedisKeys.gameStateKey(roomId);
 
+        Map<String, String> encoded = toHashFields(gameState);
+
+        // Write, TTL and version bump in one round trip; the invalidation needs the new version, so it follows
+        return redisBatches.begin("saveGameState")
+                .hset(gameKey, encoded)
+                .expire(gameKey, GAME_STATE_TTL.toSeconds())
+                .command("HINCRBY", gameKey, "version", "1")
+                .execute()
+                .flatMap(replies -> {
+                    redisBatches.recordRoundTrip("saveGameState");
+                    return gameStateCache.invalidateRoom(roomId, ((Number) replies.get(2)).longValue());
+                })
+                .thenReturn(true)
+                .onErrorResume(e -> {
+                    log.error("Failed to save game state for game {}: {}", gameState.getGameId(), e.getMessage(), e);
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Hash fields of the state, encoded as {@link #hashOps} stores them.
+     */
+    private Map<String, String> toHashFields(GameState gameState) {
         Instant countdownEndTime = gameState.getCountdownEndTime();
 
         Map<String, Object> gameData = new HashMap<>();
@@ -300,71 +348,269 @@ public class GameStateService {
             gameData.put("countdownEndTime", countdownEndTime.toString());
         }
 
-        return hashOps.putAll(gameKey, gameData)
-                .then(redis.expire(gameKey, GAME_STATE_TTL))
-                .thenReturn(true)
-                .onErrorResume(e -> {
-                    log.error("Failed to save game state for game {}: {}", gameState.getGameId(), e.getMessage(), e);
-                    return Mono.just(false);
-                });
+        Map<String, String> encoded = new HashMap<>();
+        gameData.forEach((field, value) -> encoded.put(field, encodeHashValue(value)));
+        return encoded;
     }
 
-    // ----------------------------
-    // Add Drawn Number (delta)
-    // ----------------------------
-
+    /**
+     * Compare-and-set write of the game hash.
+     * KEYS[1] = game hash
+     * ARGV[1] = expected version, ARGV[2] = ttl seconds, ARGV[3] = invalidation channel, ARGV[4] = roomId,
+     * ARGV[5..] = field/value pairs
+     * Returns {1, newVersion} if the hash was still at the expected version (a hash without a version counts as 0),
+     * {-1, 0} if the hash does not exist, otherwise {0, currentVersion}; only the first writes. A successful write
+     * publishes the near cache invalidation.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> COMPARE_AND_SET_SCRIPT = RedisScript.of("""
+            if redis.call('exists', KEYS[1]) == 0 then
+                return {-1, 0}
+            end
+            local current = tonumber(redis.call('hget', KEYS[1], 'version') or '0')
+            if current ~= tonumber(ARGV[1]) then
+                return {0, current}
+            end
+            local fields = {}
+            for i = 5, #ARGV do
+                fields[#fields + 1] = ARGV[i]
+            end
+            redis.call('hset', KEYS[1], unpack(fields))
+            redis.call('expire', KEYS[1], ARGV[2])
+            local version = redis.call('hincrby', KEYS[1], 'version', 1)
+            redis.call('publish', ARGV[3], 'room:' .. ARGV[4] .. ':' .. version)
+            return {1, version}
+            """, List.class);
 
-    public Mono<LinkedHashSet<Integer>> addOrInitDrawnNumber(Long gameId, int number) {
-        String drawnKey = RedisKeys.gameDrawnNumbersKey(gameId);
+    /**
+     * Outcome of a compare-and-set write: whether it was applied, whether the hash was gone, and the hash
+     * version after it.
+     */
+    public record GameStateWrite(boolean applied, boolean missing, long version) {
+    }
 
-        return redis.hasKey(drawnKey)
-                .flatMap(exists -> {
-                    Mono<Boolean> addNumber = setOps.add(drawnKey, String.valueOf(number))
-                            .thenReturn(true)
-                            .onErrorResume(e -> {
-                                log.error("Failed to add drawn number {} for game {}: {}", number, gameId, e.getMessage(), e);
-                                return Mono.just(false);
-                            });
+    /**
+     * Write the state's hash fields only if the hash is still at {@code gameState.getVersion()}.
+     * On success the state's version is moved to the new one.
+     */
+    public Mono<GameStateWrite> compareAndSetGameState(GameState gameState, Long roomId) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(gameState.getVersion()));
+        args.add(String.valueOf(GAME_STATE_TTL.toSeconds()));
+        args.add(RedisKeys.gameStateInvalidationChannel());
+        args.add(String.valueOf(roomId));
+        toHashFields(gameState).forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
 
-                    if (!exists) {
-                        // First time: add + set TTL
-                        return addNumber.then(redis.expire(drawnKey, GAME_STATE_TTL))
-                                .thenMany(setOps.members(drawnKey))
-                                .map(obj -> Integer.valueOf((String) obj))
-                                .collect(Collectors.toCollection(LinkedHashSet::new));
-                    } else {
-                        // Just add
-                        return addNumber
-                                .thenMany(setOps.members(drawnKey))
-                                .map(obj -> Integer.valueOf((String) obj))
-                                .collect(Collectors.toCollection(LinkedHashSet::new));
-                    }
+        return stringRedis.execute(COMPARE_AND_SET_SCRIPT, List.of(RedisKeys.gameStateKey(roomId)), args)
+                .next()
+                .map(reply -> {
+                    long result = ((Number) reply.get(0)).longValue();
+                    return new GameStateWrite(result == 1L, result == -1L, ((Number) reply.get(1)).longValue());
+                })
+                .doOnNext(write -> {
+                    // Applied: our write replaced the cached state. Rejected: the cached state is the stale one we read
+                    gameStateCache.evictLocally(roomId);
+                    if (write.applied()) gameState.setVersion(write.version());
                 });
+    }
 
+    /**
+     * Read-modify-write of the room's game hash without locks. {@code mutation} gets the state (with the given
+     * facets loaded) and changes it, returning false to give up without writing. A write that lost a race is
+     * retried on freshly read state, up to {@code game.state.casMaxAttempts} times.
+     *
+     * @return the written state, or empty if there is no game (or it was deleted meanwhile), the mutation gave
+     * up, or every attempt lost
+     */
+    public Mono<GameState> updateGameState(Long roomId, Set<GameStateFacet> facets, Predicate<GameState> mutation) {
+        return Mono.defer(() -> getGameState(roomId, facets))
+                .flatMap(state -> {
+                    if (!mutation.test(state)) return Mono.<Optional<GameState>>just(Optional.empty());
+                    return compareAndSetGameState(state, roomId)
+                            .flatMap(write -> {
+                                if (write.applied()) return Mono.just(Optional.of(state));
+                                if (write.missing()) {
+                                    // Deleted since we read it; writing now would bring back a partial game
+                                    log.warn("Game state of room {} was deleted before the update could be written", roomId);
+                                    return Mono.just(Optional.<GameState>empty());
+                                }
+                                return Mono.error(new StaleGameStateException(roomId, state.getVersion(), write.version()));
+                            });
+                })
+                .retryWhen(Retry.backoff(casMaxAttempts - 1, Duration.ofMillis(5))
+                        .maxBackoff(Duration.ofMillis(100))
+                        .filter(StaleGameStateException.class::isInstance)
+                        .doBeforeRetry(signal -> gameMetrics.incGameStateCasRetry())
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .onErrorResume(StaleGameStateException.class, e -> {
+                    log.warn("Giving up updating game state of room {}: {}", roomId, e.getMessage());
+                    return Mono.empty();
+                })
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    public Mono<GameState> updateGameState(Long roomId, Predicate<GameState> mutation) {
+        return updateGameState(roomId, GameStateFacet.META, mutation);
     }
 
+    /**
+     * All drawn numbers, in draw order.
+     */
     public Mono<LinkedHashSet<Integer>> getDrawnNumbers(Long gameId) {
         String drawnKey = RedisKeys.gameDrawnNumbersKey(gameId);
-        return setOps.members(drawnKey)
-                .map(obj -> Integer.valueOf((String) obj))
+        return stringRedis.opsForList().range(drawnKey, 0, -1)
+                .map(Integer::valueOf)
                 .collect(Collectors.toCollection(LinkedHashSet::new))
                 .onErrorResume(e -> Mono.just(new LinkedHashSet<>()));
     }
 
+    /**
+     * Numbers drawn after the given sequence number, in draw order. Sequence numbers start at 1,
+     * so {@code afterSeq = 0} returns the whole log.
+     */
+    public Mono<List<Integer>> getDrawnNumbersSince(Long gameId, long afterSeq) {
+        String drawnKey = RedisKeys.gameDrawnNumbersKey(gameId);
+        return stringRedis.opsForList().range(drawnKey, Math.max(0, afterSeq), -1)
+                .map(Integer::valueOf)
+                .collectList();
+    }
+
     // ----------------------------
-    // PlayerState Management - DELEGATED to PlayerStateService
+    // Draw Sequence
     // ----------------------------
-    public Mono<Boolean> savePlayerState(Long gameId, PlayerState playerState) {
-        // Delegate to PlayerStateService for actual storage
-        return playerStateService.savePlayerState(gameId, playerState)
-                .then(setOps.add(RedisKeys.gamePlayersKey(gameId), playerState.getUserProfileId()))
-                .thenReturn(true)
-                .onErrorResume(e -> {
-                    log.error("Failed to save player {} in game {}: {}", playerState.getUserProfileId(), gameId, e.getMessage(), e);
-                    return Mono.just(false);
-                });
+
+    /**
+     * Persist a freshly shuffled 1..75 draw sequence for the game, unless one already exists.
+     * Creating a new sequence also clears any previously drawn numbers; an existing sequence
+     * is left untouched so a node taking over the game continues from the same cursor.
+     *
+     * @return true if a new sequence was created
+     */
+    public Mono<Boolean> initDrawSequence(Long gameId) {
+        int[] numbers = new int[MAX_DRAW_NUMBER];
+        for (int i = 0; i < numbers.length; i++) numbers[i] = i + 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = numbers.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = numbers[i];
+            numbers[i] = numbers[j];
+            numbers[j] = tmp;
+        }
+
+        List<String> args = new ArrayList<>(numbers.length + 1);
+        args.add(String.valueOf(GAME_STATE_TTL.toSeconds()));
+        for (int n : numbers) args.add(String.valueOf(n));
+
+        return stringRedis.execute(INIT_DRAW_SEQUENCE_SCRIPT,
+                        List.of(RedisKeys.gameDrawSequenceKey(gameId), RedisKeys.gameDrawnNumbersKey(gameId)),
+                        args)
+                .next()
+                .map(created -> created == 1L)
+                .flatMap(created -> created
+                        ? gameStateCache.invalidateGame(gameId).thenReturn(true) // the drawn log was reset
+                        : Mono.just(false))
+                .doOnSuccess(created -> log.info("Draw sequence for game {} {}", gameId, Boolean.TRUE.equals(created) ? "created" : "already exists"));
     }
 
+    /**
+     * One draw tick, executed atomically on the Redis server.
+     * KEYS[1] = game hash, KEYS[2] = draw sequence, KEYS[3] = drawn log, KEYS[4] = drawing lease,
+     * KEYS[5] = game event stream, KEYS[6] = event stream registry
+     * ARGV[1] = statusUpdatedAt (hash-encoded), ARGV[2] = room channel, ARGV[3] = gameId, ARGV[4] = roomId, ARGV[5] = ttl seconds,
+     * ARGV[6] = lease token, ARGV[7] = lease ttl millis, ARGV[8] = game state invalidation channel,
+     * ARGV[9] = '1' to journal the draw, ARGV[10..12] = journal group, max length, ttl seconds
+     * Returns the drawn number, 0 if the game is missing/ended/stopped, -1 if the sequence is exhausted,
+     * -2 if the caller no longer holds the drawing lease. Every successful check renews the lease.
+     * The number is appended to the drawn log; its position in the log is published as {@code seq}.
+     * The game hash version is bumped and a near cache invalidation is published along with the number,
+     * which is also appended to the game's event journal.
+     * Hash flags are written through the JSON serializer, so both 'true' and '"true"' count as set.
+     */
+    private static final RedisScript<Long> DRAW_TICK_SCRIPT = RedisScript.of(GameEventJournal.APPEND_EVENT_FUNCTION + """
+            local function isSet(v)
+                return v == 'true' or v == '"true"'
+            end
+            if redis.call('get', KEYS[4]) ~= ARGV[6] then
+                return -2
+            end
+            redis.call('pexpire', KEYS[4], ARGV[7])
+            if redis.call('exists', KEYS[1]) == 0 then
+                return 0
+            end
+            local flags = redis.call('hmget', KEYS[1], 'ended', 'stopNumberDrawing')
+            if isSet(flags[1]) or isSet(flags[2]) then
+                return 0
+            end
+            local n = redis.call('lpop', KEYS[2])
+            if not n then
+                return -1
+            end
+            local seq = redis.call('rpush', KEYS[3], n)
+            redis.call('expire', KEYS[3], ARGV[5])
+            redis.call('hset', KEYS[1], 'statusUpdatedAt', ARGV[1])
+            local version = redis.call('hincrby', KEYS[1], 'version', 1)
+            redis.call('publish', ARGV[8], 'room:' .. ARGV[4] .. ':' .. version)
+            local payload = '{"number":' .. n .. ',"seq":' .. seq .. ',"gameId":' .. ARGV[3] .. ',"roomId":' .. ARGV[4] .. '}'
+            redis.call('publish', ARGV[2], '{"type":"game.numberDrawn","payload":' .. payload .. '}')
+            if ARGV[9] == '1' then
+                appendEvent(KEYS[5], KEYS[6], ARGV[10], ARGV[11], ARGV[12], 'game.numberDrawn', ARGV[4], payload)
+            end
+            return tonumber(n)
+            """, Long.class);
+
+    /**
+     * Draw the next number of the game in a single round trip: checks the ended/stop flags, pops the
+     * sequence, records the number, bumps statusUpdatedAt and publishes {@code game.numberDrawn}.
+     *
+     * The tick also renews the caller's drawing lease, so a live draw loop keeps its lease without extra calls.
+     *
+     * @return the drawn number, 0 if the game is gone, ended or stopped, -1 if every number was drawn,
+     * -2 if the drawing lease is no longer held with {@code leaseToken}
+     */
+    public Mono<Long> drawNextNumber(Long roomId, Long gameId, String leaseToken, Duration leaseTtl) {
+        List<String> args = new ArrayList<>(List.of(encodeHashValue(Instant.now().toString()),
+                RedisKeys.roomChannel(roomId),
+                String.valueOf(gameId),
+                String.valueOf(roomId),
+                String.valueOf(GAME_STATE_TTL.toSeconds()),
+                leaseToken,
+                String.valueOf(leaseTtl.toMillis()),
+                RedisKeys.gameStateInvalidationChannel(),
+                gameEventJournal.isEnabled() ? "1" : "0"));
+        args.addAll(gameEventJournal.streamArgs());
+
+        return stringRedis.execute(DRAW_TICK_SCRIPT,
+                        List.of(RedisKeys.gameStateKey(roomId), RedisKeys.gameDrawSequenceKey(gameId),
+                                RedisKeys.gameDrawnNumbersKey(gameId), RedisKeys.gameDrawingLockKey(gameId),
+                                RedisKeys.gameEventStreamKey(gameId), RedisKeys.gameEventStreamsKey()),
+                        args)
+                .next()
+                .doOnNext(result -> {
+                    // The script published the invalidation; don't serve the old state here until it arrives
+                    if (result > 0) gameStateCache.evictLocally(roomId);
+                })
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * Encode a value exactly as {@link #hashOps} would store it, for use from Lua scripts.
+     */
+    private String encodeHashValue(Object value) {
+        ByteBuffer buffer = redis.getSerializationContext().getHashValueSerializationPair().write(value);
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    public Mono<Long> getRemainingDrawCount(Long gameId) {
+        return stringRedis.opsForList().size(RedisKeys.gameDrawSequenceKey(gameId))
+                .defaultIfEmpty(0L);
+    }
+
+    // ----------------------------
+    // PlayerState Management - DELEGATED to PlayerStateService
+    // ----------------------------
     public Mono<PlayerState> getPlayerState(Long gameId, String userId) {
         // Delegate to PlayerStateService
         return playerStateService.getPlayerState(gameId, userId);
@@ -374,58 +620,44 @@ public class GameStateService {
     // ----------------------------
     // Disqualified Players
     // ----------------------------
-    public Mono<Set<Long>> disqualifyPlayer(Long gameId, Long userId) {
-        String disqualifiedKey = RedisKeys.gameDisqualifiedKey(gameId);
-
-        return redis.hasKey(disqualifiedKey)
-                .flatMap(exists -> {
-                    Mono<Long> addUser = setOps.add(disqualifiedKey, userId.toString())
-                            .onErrorResume(e -> {
-                                log.error("Failed to add disqualified player {} for game {}: {}", userId, gameId, e.getMessage(), e);
-                                return Mono.just(0L);
-                            });
-
-                    if (!exists) {
-                        // First time: add + set TTL
-                        return addUser.then(redis.expire(disqualifiedKey, GAME_STATE_TTL))
-                                .thenMany(setOps.members(disqualifiedKey))
-                                .map(str -> Long.valueOf((String) str))
-                                .collect(Collectors.toSet());
-                    } else {
-                        // Just add
-                        return addUser
-                                .thenMany(setOps.members(disqualifiedKey))
-                                .map(str -> Long.valueOf((String) str))
-                                .collect(Collectors.toSet());
-                    }
-
-                });
-    }
 
 
     public Mono<Set<String>> getDisqualifiedPlayers(Long gameId) {
         String disqualifiedKey = RedisKeys.gameDisqualifiedKey(gameId);
         return setOps.members(disqualifiedKey)
-                .map(obj -> String.valueOf((String) obj))
                 .collect(Collectors.toSet())
                 .onErrorResume(e -> Mono.just(Set.of()));
     }
 
-    // ----------------------------
-    // Set Winner
-    // ----------------------------
-    public Mono<Boolean> setGameWinner(Long gameId, Long winnerId) {
-        String gameKey = RedisKeys.gameStateKey(gameId);
-        return Mono.when(
-                        hashOps.put(gameKey, "winnerId", winnerId.toString()),
-                        hashOps.put(gameKey, "ended", "true")
-                )
-                .thenReturn(true)
-                .onErrorResume(e -> Mono.just(false));
+
+    /**
+     * Current game state of the room, served from the node's near cache when it is current.
+     */
+    public Mono<GameState> getGameState(Long roomId) {
+        return gameStateCache.get(roomId, () -> loadGameState(roomId, GameStateFacet.ALL));
     }
 
+    /**
+     * Game state with only the game hash fields and the given facets filled in; the other collections are empty.
+     * A cached full state is used when there is one, otherwise only the needed keys are read.
+     * Saving such a projection with {@link #saveGameStateToRedis} is safe, it only writes hash fields.
+     */
+    public Mono<GameState> getGameState(Long roomId, Set<GameStateFacet> facets) {
+        if (facets.containsAll(GameStateFacet.ALL)) {
+            return getGameState(roomId);
+        }
+        GameState cached = gameStateCache.getIfPresent(roomId);
+        return cached != null ? Mono.just(cached) : loadGameState(roomId, facets);
+    }
 
-    public Mono<GameState> getGameState(Long roomId) {
+    /**
+     * Ids, status and flags of the room's game, without any of the collections.
+     */
+    public Mono<GameState> getGameMeta(Long roomId) {
+        return getGameState(roomId, GameStateFacet.META);
+    }
+
+    private Mono<GameState> loadGameState(Long roomId, Set<GameStateFacet> facets) {
         String gameKey = RedisKeys.gameStateKey(roomId);
 
         return hashOps.entries(gameKey)
@@ -453,6 +685,8 @@ public class GameStateService {
                     state.setEntryFee(gameMeta.get("entryFee") != null ? Double.parseDouble(gameMeta.get("entryFee").toString()) : 0.0);
                     state.setCommissionRate(gameMeta.get("commissionRate") != null ? Double.parseDouble(gameMeta.get("commissionRate").toString()) : 0.0);
                     state.setCapacity(gameMeta.get("capacity") != null ? Integer.parseInt(gameMeta.get("capacity").toString()) : 0);
+                    state.setCardPoolVersion(cardPoolService.poolVersion(state.getCapacity()));
+                    state.setVersion(gameMeta.get("version") != null ? Long.parseLong(gameMeta.get("version").toString()) : 0L);
 
                     Object statusUpdatedAtRaw = gameMeta.get("statusUpdatedAt");
                     if (statusUpdatedAtRaw != null) {
@@ -470,55 +704,29 @@ public class GameStateService {
                         log.warn("Missing countdownEndTime in gameMeta for game {}", state.getGameId());
                         state.setCountdownEndTime(null);
                     }
-                    log.info("Fetched game state with id {}: ", state.getGameId());
-
-                    // Fetch all reactive parts
-                    Mono<LinkedHashSet<Integer>> drawnNumbers = getDrawnNumbers(state.getGameId());
-                    Mono<Set<String>> players = getAllPlayers(state.getGameId());
-                    Mono<Set<String>> disqualified = getDisqualifiedPlayers(state.getGameId());
-                    Mono<List<CardInfo>> currentCardPool = cardPoolService.getCurrentPool(roomId)
-                            .defaultIfEmpty(List.of());
-                    Mono<Set<String>> allCardIds = cardPoolService.getAllCardIds(roomId)
-                            .defaultIfEmpty(Set.of());
-
-                    Mono<Set<String>> allSelectedCardsIds = playerStateService.getAllSelectedCardsIds(state.getGameId());
-//                    Mono<Set<String>> userSelectedCardsIds = playerStateService.getPlayerCardIds(state.getGameId(), ""); // Placeholder userId
-
-                    // Zip everything and apply reactive setters
-                    return Mono.zip(drawnNumbers, players, disqualified, currentCardPool, allCardIds, allSelectedCardsIds)
-                            .flatMap(tuple ->
-                                            state.setCurrentCardPool(tuple.getT4())
-//                                            .then(state.setNextCardPool(tuple.getT5()))
-                                                    .then(Mono.fromCallable(() -> {
-
-
-                                                        if (state.getDrawnNumbers().isEmpty()) {
-                                                            state.setDrawnNumber(tuple.getT1());
-                                                        }
-
-                                                        if (state.getJoinedPlayers().isEmpty()) {
-                                                            state.setJoinedPlayers(tuple.getT2());
-                                                        }
-
-                                                        if (state.getDisqualifiedUsers().isEmpty()) {
-                                                            state.setDisqualifiedPlayers(tuple.getT3());
-                                                        }
-
-//                                                        log.info("================ALL CARD SIZE==============>>>>>>: {}", tuple.getT5().size());
-
-                                                        if (state.getAllCardIds().isEmpty()) {
-                                                            state.setAllCardIds(tuple.getT5());
-                                                        }
-
-                                                        state.setCurrentCardPool(tuple.getT4());
-
-                                                        state.setAllSelectedCardsIds(tuple.getT6());
-
-
-//                                                        state.setUserSelectedCardsIds(tuple.getT7());
-                                                        return state;
-                                                    }))
-                            );
+                    log.info("Fetched game state with id {} ({}): ", state.getGameId(), facets);
+
+                    // Fetch only the requested parts; the others keep their empty defaults
+                    Mono<LinkedHashSet<Integer>> drawnNumbers = facets.contains(GameStateFacet.DRAWN_NUMBERS)
+                            ? getDrawnNumbers(state.getGameId()) : Mono.just(new LinkedHashSet<>());
+                    Mono<Set<String>> players = facets.contains(GameStateFacet.PLAYERS)
+                            ? getAllPlayers(state.getGameId()) : Mono.just(Set.of());
+                    Mono<Set<String>> disqualified = facets.contains(GameStateFacet.DISQUALIFIED)
+                            ? getDisqualifiedPlayers(state.getGameId()) : Mono.just(Set.of());
+                    Mono<Set<String>> allCardIds = Mono.just(facets.contains(GameStateFacet.ALL_CARD_IDS)
+                            ? cardPoolService.poolCardIds(state.getCapacity()) : new HashSet<>());
+                    Mono<Set<String>> allSelectedCardsIds = facets.contains(GameStateFacet.SELECTED_CARDS)
+                            ? playerStateService.getAllSelectedCardsIds(state.getGameId()) : Mono.just(new HashSet<>());
+
+                    return Mono.zip(drawnNumbers, players, disqualified, allCardIds, allSelectedCardsIds)
+                            .map(tuple -> {
+                                state.setDrawnNumber(tuple.getT1());
+                                state.setJoinedPlayers(tuple.getT2());
+                                state.setDisqualifiedPlayers(tuple.getT3());
+                                state.setAllCardIds(tuple.getT4());
+                                state.setAllSelectedCardsIds(tuple.getT5());
+                                return state;
+                            });
                 })
                 .onErrorResume(e -> {
                     log.error("Failed to get game state for room {}: {}", roomId, e.getMessage(), e);
@@ -531,20 +739,19 @@ public class GameStateService {
     // Delete GameState
     // ----------------------------
     public Mono<Boolean> deleteGameState(Long roomId) {
-        return getGameState(roomId)
+        return getGameMeta(roomId)
                 .flatMap(state -> {
                     Long gameId = state.getGameId();
-                    return redis.delete(
-                                    RedisKeys.gameStateKey(roomId),
-                                    RedisKeys.gameDrawnNumbersKey(gameId),
-                                    RedisKeys.gamePlayersKey(gameId),
-                                    RedisKeys.currentCardPoolKey(gameId),
-                                    RedisKeys.roomCardsSetKey(roomId)
-                            )
-                            .map(count -> {
-                                return count > 0;
-                            })
-
+                    RedisBatch batch = redisBatches.begin("deleteGameState")
+                            .command("DEL", RedisKeys.gameStateKey(roomId))
+                            .command("DEL", RedisKeys.gameDrawnNumbersKey(gameId))
+                            .command("DEL", RedisKeys.gameDrawSequenceKey(gameId))
+                            .command("DEL", RedisKeys.gamePlayersKey(gameId));
+                    gameStateCache.addRoomInvalidation(batch, roomId, -1);
+
+                    return batch.execute()
+                            .map(replies -> replies.stream().limit(4).anyMatch(reply -> ((Number) reply).longValue() > 0))
+                            .doOnNext(deleted -> gameStateCache.evictRoomLocally(roomId, -1))
                             .onErrorReturn(false);
                 })
                 .defaultIfEmpty(false) // ensures that if getGameState is empty, Mono emits false
@@ -552,15 +759,53 @@ public class GameStateService {
     }
 
 
-    public Mono<Boolean> deleteDrawnNumbers(Long gameId) {
-        return redis.delete(RedisKeys.gameDrawnNumbersKey(gameId))
-                .map(count -> count > 0)
-                .doOnError(e -> log.error("Failed to delete game state for gameId={}", gameId, e))
-                .onErrorReturn(false)
-                .doOnSuccess(deleted -> log.info("Deleted game state for gameId={} -> {}", gameId, deleted));
+    /**
+     * Every key a game leaves in Redis: the game hash and draw logs, the owner and lock keys of the selected
+     * cards, and each player's cards, locks and marked numbers. Read before the players' keys are released.
+     */
+    public Mono<List<String>> gameKeys(Long roomId, Long gameId, Set<String> players) {
+        Mono<List<String>> cardKeys = playerStateService.getAllSelectedCardsIds(gameId)
+                .defaultIfEmpty(Set.of())
+                .map(cardIds -> cardIds.stream()
+                        .flatMap(cardId -> Stream.of(
+                                RedisKeys.cardOwnerKey(gameId, cardId),
+                                RedisKeys.cardLockKey(gameId, cardId)))
+                        .toList());
+
+        Mono<List<String>> playerKeys = Flux.fromIterable(players)
+                .flatMap(userId -> playerStateService.getPlayerCardIds(gameId, userId)
+                        .map(cardIds -> {
+                            List<String> keys = new ArrayList<>(List.of(
+                                    RedisKeys.playerCardsKey(gameId, userId),
+                                    RedisKeys.playerCardsIdsKey(gameId, userId),
+                                    RedisKeys.userOwnedCardsKey(gameId, userId),
+                                    RedisKeys.userLockKey(gameId, userId)));
+                            cardIds.forEach(cardId -> keys.add(RedisKeys.playerMarkedNumbersKey(gameId, userId, cardId)));
+                            return keys;
+                        }))
+                .flatMapIterable(keys -> keys)
+                .collectList();
+
+        return Mono.zip(cardKeys, playerKeys)
+                .map(tuple -> {
+                    List<String> keys = new ArrayList<>(List.of(
+                            RedisKeys.gameStateKey(roomId),
+                            RedisKeys.gameDrawnNumbersKey(gameId),
+                            RedisKeys.gameDrawSequenceKey(gameId),
+                            RedisKeys.gamePlayersKey(gameId),
+                            RedisKeys.gameDisqualifiedKey(gameId),
+                            RedisKeys.gameDrawingLockKey(gameId),
+                            RedisKeys.selectedCardsKey(gameId),
+                            RedisKeys.allPlayersSelectedCardsIdsKey(gameId),
+                            RedisKeys.roomPlayersKey(roomId)));
+                    keys.addAll(tuple.getT1());
+                    keys.addAll(tuple.getT2());
+                    return keys;
+                });
     }
 
 
+
     // ----------------------------
     // Player Management
     // ----------------------------
@@ -590,30 +835,32 @@ public class GameStateService {
 //                });
 //    }
 
-    public Mono<Set<Long>> addPlayerToGame(Long gameId, Long userId) {
-        String playersKey = RedisKeys.gamePlayersKey(gameId);
-
-        return redis.hasKey(playersKey)
-                .flatMap(exists -> {
-                    Mono<Long> addUser = setOps.add(playersKey, userId.toString())
-                            .onErrorResume(e -> {
-                                log.error("Failed to add player {} for game {}: {}", userId, gameId, e.getMessage(), e);
-                                return Mono.just(0L);
-                            });
-
-                    Mono<Set<Long>> resultMono = addUser
-                            .then(Mono.defer(() -> setOps.members(playersKey) // fetch all members
-                                    .map(Long::valueOf)
-                                    .collect(Collectors.toSet())
-                            ));
+    /**
+     * Add the player to the game's player set and invalidate the game's cached state, in one round trip.
+     *
+     * @return 1 if the player was added, 0 if they had already joined
+     */
+    public Mono<Long> addGamePlayer(Long gameId, String userId) {
+        RedisBatch batch = redisBatches.begin("addGamePlayer")
+                .command("SADD", RedisKeys.gamePlayersKey(gameId), userId);
+        gameStateCache.addGameInvalidation(batch, gameId);
+
+        return batch.execute()
+                .map(replies -> ((Number) replies.get(0)).longValue())
+                .doOnNext(added -> gameStateCache.evictGameLocally(gameId));
+    }
 
-                    if (!exists) {
-                        return resultMono
-                                .flatMap(set -> redis.expire(playersKey, GAME_STATE_TTL).thenReturn(set));
-                    } else {
-                        return resultMono;
-                    }
-                });
+    /**
+     * Remove the player from the game's player set and invalidate the game's cached state, in one round trip.
+     */
+    public Mono<Long> removeGamePlayer(Long gameId, String userId) {
+        RedisBatch batch = redisBatches.begin("removeGamePlayer")
+                .command("SREM", RedisKeys.gamePlayersKey(gameId), userId);
+        gameStateCache.addGameInvalidation(batch, gameId);
+
+        return batch.execute()
+                .map(replies -> ((Number) replies.get(0)).longValue())
+                .doOnNext(removed -> gameStateCache.evictGameLocally(gameId));
     }
 
 
@@ -629,11 +876,5 @@ public class GameStateService {
     }
 
 
-    public Mono<Boolean> removePlayerFromGame(Long gameId, Long userId) {
-        String playersKey = RedisKeys.gamePlayersKey(gameId);
-        return setOps.remove(playersKey, userId.toString())
-                .thenReturn(true);
-    }
-
 
 }
@@ -18,10 +18,12 @@ public class PlayerCleanupService {
 
     private final ReactiveRedisTemplate<String, String> redisTemplate;
     private final CardSelectionService cardSelectionService;
+    private final GameStateCache gameStateCache;
 
-    public PlayerCleanupService(@Qualifier("reactiveStringRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate, CardSelectionService cardSelectionService) {
+    public PlayerCleanupService(@Qualifier("reactiveStringRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate, CardSelectionService cardSelectionService, GameStateCache gameStateCache) {
         this.redisTemplate = redisTemplate;
         this.cardSelectionService = cardSelectionService;
+        this.gameStateCache = gameStateCache;
     }
 
     public Mono<List<String>> removePlayerFromGame(Long roomId, Long gameId, String userId) {
@@ -41,7 +43,7 @@ public class PlayerCleanupService {
 
                     Mono<Void> removeFromAllSelected = Flux.fromIterable(cardIds)
                             .flatMap(cardId -> setOps.remove(allPlayersSelectedCardsKey, cardId))
-                            .then();
+                            .then(gameStateCache.invalidateGame(gameId));
 
                     // 1️⃣ Release each card using CardSelectionService
                     Mono<Void> releaseCards = Flux.fromIterable(cardIds)
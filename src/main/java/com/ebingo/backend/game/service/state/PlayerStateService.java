@@ -155,18 +155,24 @@
 package com.ebingo.backend.game.service.state;
 
 import com.ebingo.backend.game.dto.CardInfo;
+import com.ebingo.backend.game.state.NumberSet;
 import com.ebingo.backend.game.state.PlayerState;
+import com.ebingo.backend.system.redis.RedisBatch;
+import com.ebingo.backend.system.redis.RedisBatchExecutor;
 import com.ebingo.backend.system.redis.RedisKeys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.ReactiveHashOperations;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
 import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -179,36 +185,19 @@ public class PlayerStateService {
     private final ReactiveRedisTemplate<String, Object> redis;
     private final ReactiveHashOperations<String, String, CardInfo> hashOps;
     private final ReactiveSetOperations<String, String> setOps;
+    private final GameStateCache gameStateCache;
+    private final RedisBatchExecutor redisBatches;
 
-    private static final Duration PLAYER_STATE_TTL = Duration.ofHours(24);
+    public static final Duration PLAYER_STATE_TTL = Duration.ofHours(24);
 
-    /**
-     * Save the player's cards in a Redis hash, and marked numbers in Redis sets.
-     */
-    public Mono<Boolean> savePlayerState(Long gameId, PlayerState playerState) {
-        String cardsKey = RedisKeys.playerCardsKey(gameId, playerState.getUserProfileId());
-
-        // Save all cards in one hash
-        Mono<Boolean> saveCards = hashOps.putAll(cardsKey, playerState.getCards())
-                .then(redis.expire(cardsKey, PLAYER_STATE_TTL))
-                .then(Mono.just(true));
-
-        // Save all marked numbers for each card with TTL
-        Flux<Boolean> saveMarkedNumbers = Flux.fromIterable(playerState.getCards().entrySet())
-                .flatMap(entry -> {
-                    String cardId = entry.getKey();
-                    CardInfo card = entry.getValue();
-                    String markedKey = RedisKeys.playerMarkedNumbersKey(gameId, playerState.getUserProfileId(), cardId);
-                    String[] markedStr = card.getMarked().stream()
-                            .map(String::valueOf)
-                            .toArray(String[]::new);
-                    return setOps.add(markedKey, markedStr)
-                            .then(redis.expire(markedKey, PLAYER_STATE_TTL))
-                            .map(count -> true);
-                });
+    // Encodes cards as the CardInfo hash operations store them
+    private static final Jackson2JsonRedisSerializer<CardInfo> CARD_SERIALIZER = new Jackson2JsonRedisSerializer<>(CardInfo.class);
 
-        return saveCards.thenMany(saveMarkedNumbers).then(Mono.just(true));
-    }
+    // Reads the whole 75-number bitmap of a card: offsets 0..63, then 64..75
+    private static final BitFieldSubCommands READ_MARKED = BitFieldSubCommands.create()
+            .get(BitFieldSubCommands.BitFieldType.INT_64).valueAt(0)
+            .get(BitFieldSubCommands.BitFieldType.unsigned(12)).valueAt(64);
+    private static final String[] READ_MARKED_ARGS = {"GET", "i64", "0", "GET", "u12", "64"};
 
     /**
      * Retrieve the player's state by combining cards and marked numbers.
@@ -271,6 +260,43 @@ public class PlayerStateService {
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
+    /**
+     * Record a card the player has just claimed, in one round trip: the card in the player's hash, its id in
+     * the player's and the game's selected card sets, and the game's cache invalidation.
+     */
+    public Mono<Boolean> saveClaimedCard(Long gameId, String userId, String cardId, CardInfo card) {
+        String cardsKey = RedisKeys.playerCardsKey(gameId, userId);
+        String cardIdsKey = RedisKeys.playerCardsIdsKey(gameId, userId);
+        String allSelectedKey = RedisKeys.allPlayersSelectedCardsIdsKey(gameId);
+        long ttl = PLAYER_STATE_TTL.toSeconds();
+
+        RedisBatch batch = redisBatches.begin("saveClaimedCard")
+                .hset(cardsKey, Map.of(cardId, encodeCard(card)))
+                .expire(cardsKey, ttl)
+                .command("SADD", cardIdsKey, cardId)
+                .expire(cardIdsKey, ttl)
+                .command("SADD", allSelectedKey, cardId)
+                .expire(allSelectedKey, ttl)
+                .command("SADD", RedisKeys.selectedCardsKey(gameId), cardId);
+        gameStateCache.addGameInvalidation(batch, gameId);
+
+        return batch.execute()
+                .doOnNext(replies -> gameStateCache.evictGameLocally(gameId))
+                .thenReturn(true)
+                .onErrorResume(e -> {
+                    log.error("Failed to save claimed card {} for user {} in game {}: {}",
+                            cardId, userId, gameId, e.getMessage(), e);
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * A card as it is stored in a player's cards hash, for writes that bypass the hash operations.
+     */
+    public static String encodeCard(CardInfo card) {
+        return new String(CARD_SERIALIZER.serialize(card), StandardCharsets.UTF_8);
+    }
+
     public Mono<Boolean> addPlayerCardId(Long gameId, String userId, String cardId) {
         String cardsKey = RedisKeys.playerCardsIdsKey(gameId, userId);
         return setOps.add(cardsKey, cardId)
@@ -312,6 +338,7 @@ public class PlayerStateService {
         String key = RedisKeys.allPlayersSelectedCardsIdsKey(gameId);
         return setOps.add(key, cardId)
                 .flatMap(added -> redis.expire(key, PLAYER_STATE_TTL).thenReturn(added > 0))
+                .flatMap(added -> gameStateCache.invalidateGame(gameId).thenReturn(added))
                 .onErrorResume(e -> {
                     log.error("Failed to add to all players selected cards IDs for game {}: {}", gameId, e.getMessage(), e);
                     return Mono.just(false);
@@ -322,6 +349,7 @@ public class PlayerStateService {
         String key = RedisKeys.allPlayersSelectedCardsIdsKey(gameId);
         return setOps.remove(key, cardId)
                 .map(removedCount -> removedCount > 0)
+                .flatMap(removed -> gameStateCache.invalidateGame(gameId).thenReturn(removed))
                 .onErrorResume(e -> {
                     log.error("Failed to remove from all players selected cards IDs for game {}: {}", gameId, e.getMessage(), e);
                     return Mono.just(false);
@@ -332,11 +360,11 @@ public class PlayerStateService {
     /**
      * Fetch marked numbers for a specific card.
      */
-    public Mono<Set<Integer>> getMarkedNumbers(Long gameId, String userId, String cardId) {
+    public Mono<NumberSet> getMarkedNumbers(Long gameId, String userId, String cardId) {
         String markedKey = RedisKeys.playerMarkedNumbersKey(gameId, userId, cardId);
-        return setOps.members(markedKey)
-                .map(Integer::valueOf)
-                .collect(Collectors.toSet());
+        return redis.opsForValue().bitField(markedKey, READ_MARKED)
+                .map(fields -> toNumberSet(fields, 0))
+                .defaultIfEmpty(NumberSet.EMPTY);
     }
 
     /**
@@ -375,23 +403,37 @@ public class PlayerStateService {
         return redis.hasKey(cardsKey);
     }
 
-    public Mono<Set<Integer>> addMarkedNumber(Long gameId, String userId, String cardId, Integer number) {
-        String markedKey = RedisKeys.playerMarkedNumbersKey(gameId, userId, cardId);
-        return setOps.add(markedKey, String.valueOf(number))
-                .then(redis.expire(markedKey, PLAYER_STATE_TTL))
-                .then(setOps.members(markedKey)
-                        .map(Integer::valueOf)
-                        .collect(Collectors.toSet())
-                );
+    public Mono<NumberSet> addMarkedNumber(Long gameId, String userId, String cardId, Integer number) {
+        return setMarkedBit(gameId, userId, cardId, number, true);
+    }
+
+    public Mono<NumberSet> removeMarkedNumber(Long gameId, String userId, String cardId, Integer number) {
+        return setMarkedBit(gameId, userId, cardId, number, false);
     }
 
-    public Mono<Set<Integer>> removeMarkedNumber(Long gameId, String userId, String cardId, Integer number) {
+    /**
+     * Flip one bit of the card's marked bitmap and read the whole bitmap back in the same BITFIELD call.
+     */
+    private Mono<NumberSet> setMarkedBit(Long gameId, String userId, String cardId, int number, boolean marked) {
         String markedKey = RedisKeys.playerMarkedNumbersKey(gameId, userId, cardId);
-        return setOps.remove(markedKey, String.valueOf(number))
-                .then(setOps.members(markedKey)
-                        .map(Integer::valueOf)
-                        .collect(Collectors.toSet())
-                );
+        String[] args = new String[4 + READ_MARKED_ARGS.length];
+        args[0] = "SET";
+        args[1] = "u1";
+        args[2] = String.valueOf(number);
+        args[3] = marked ? "1" : "0";
+        System.arraycopy(READ_MARKED_ARGS, 0, args, 4, READ_MARKED_ARGS.length);
+
+        return redisBatches.begin(marked ? "markNumber" : "unmarkNumber")
+                .command("BITFIELD", markedKey, args)
+                .expire(markedKey, PLAYER_STATE_TTL.toSeconds())
+                .execute()
+                .map(replies -> toNumberSet((List<?>) replies.get(0), 1));
+    }
+
+    private static NumberSet toNumberSet(List<?> fields, int offset) {
+        return NumberSet.fromBitfield(
+                ((Number) fields.get(offset)).longValue(),
+                ((Number) fields.get(offset + 1)).longValue());
     }
 
 
@@ -1,10 +1,8 @@
 package com.ebingo.backend.game.state;
 
-import com.ebingo.backend.game.dto.CardInfo;
 import com.ebingo.backend.game.enums.GameStatus;
 import lombok.Data;
 import lombok.ToString;
-import reactor.core.publisher.Mono;
 
 import java.time.Instant;
 import java.util.*;
@@ -33,9 +31,8 @@ public class GameState {
     private Set<String> userSelectedCardsIds = new LinkedHashSet<>();
     private Set<String> allSelectedCardsIds = new LinkedHashSet<>();
 
-    // Card Pool
-    private final List<CardInfo> currentCardPool = new ArrayList<>();
-    private final List<CardInfo> nextCardPool = new ArrayList<>();
+    // Card Pool; clients fetch it over HTTP by version (see RoomPublicController)
+    private String cardPoolVersion;
     private Set<String> allCardIds = new HashSet<>();
 
     // Game status flags
@@ -52,6 +49,9 @@ public class GameState {
     private Double entryFee = 0.0;
     private Integer capacity = 0;
 
+    // Version of the game hash in Redis this state was read from
+    private long version = 0L;
+
     public void setJoinedPlayers(Set<String> userIds) {
         joinedPlayers.clear();
         joinedPlayers.addAll(userIds);
@@ -75,13 +75,31 @@ public class GameState {
     }
 
     /**
-     * Set the card pool (replaces existing pool).
+     * Copy of this state whose collections can be changed without affecting the original.
      */
-    public Mono<Void> setCurrentCardPool(List<CardInfo> newPool) {
-        return Mono.fromRunnable(() -> {
-            currentCardPool.clear();
-            currentCardPool.addAll(newPool);
-        });
+    public GameState copy() {
+        GameState copy = new GameState();
+        copy.setGameId(gameId);
+        copy.setRoomId(roomId);
+        copy.setJoinedPlayers(new HashSet<>(joinedPlayers));
+        copy.drawnNumbers.addAll(drawnNumbers);
+        copy.setDisqualifiedPlayers(new HashSet<>(disqualifiedUsers));
+        copy.setUserSelectedCardsIds(new LinkedHashSet<>(userSelectedCardsIds));
+        copy.setAllSelectedCardsIds(new LinkedHashSet<>(allSelectedCardsIds));
+        copy.setCardPoolVersion(cardPoolVersion);
+        copy.setAllCardIds(new HashSet<>(allCardIds));
+        copy.setStarted(started);
+        copy.setEnded(ended);
+        copy.setStatus(status);
+        copy.setStatusUpdatedAt(statusUpdatedAt);
+        copy.setStopNumberDrawing(stopNumberDrawing);
+        copy.setClaimRequested(claimRequested);
+        copy.setCountdownEndTime(countdownEndTime);
+        copy.setCommissionRate(commissionRate);
+        copy.setEntryFee(entryFee);
+        copy.setCapacity(capacity);
+        copy.setVersion(version);
+        return copy;
     }
 
 //    public void setUserSelectedCardsIds(Set<String> cardIds) {
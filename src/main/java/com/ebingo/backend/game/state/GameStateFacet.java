@@ -0,0 +1,30 @@
+package com.ebingo.backend.game.state;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Parts of a {@link GameState} that live outside the game hash and are only loaded when asked for.
+ * The hash fields (ids, status, flags, countdown, fees) are always loaded.
+ */
+public enum GameStateFacet {
+    DRAWN_NUMBERS,
+    PLAYERS,
+    DISQUALIFIED,
+    ALL_CARD_IDS,
+    SELECTED_CARDS;
+
+    /**
+     * Only the game hash fields.
+     */
+    public static final Set<GameStateFacet> META = Collections.unmodifiableSet(EnumSet.noneOf(GameStateFacet.class));
+
+    /**
+     * What the games table is written from (see {@code GameMapper}).
+     */
+    public static final Set<GameStateFacet> PERSISTED =
+            Collections.unmodifiableSet(EnumSet.of(DRAWN_NUMBERS, PLAYERS, ALL_CARD_IDS, SELECTED_CARDS));
+
+    public static final Set<GameStateFacet> ALL = Collections.unmodifiableSet(EnumSet.allOf(GameStateFacet.class));
+}
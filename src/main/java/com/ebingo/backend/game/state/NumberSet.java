@@ -0,0 +1,153 @@
+package com.ebingo.backend.game.state;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable set of bingo numbers (1..75) packed into a 75-bit mask held in two longs:
+ * number n is bit n of {@code low} for n < 64, and bit n - 64 of {@code high} otherwise.
+ * <p>
+ * In Redis a set is a bitmap where bit offset n is number n, read back with
+ * {@code BITFIELD key GET i64 0 GET u12 64} (see {@link #fromBitfield}). In JSON it is the sorted array of
+ * its numbers, the same shape as the {@code Set<Integer>} it replaces.
+ */
+public final class NumberSet {
+
+    public static final int MIN = 1;
+    public static final int MAX = 75;
+
+    public static final NumberSet EMPTY = new NumberSet(0L, 0L);
+
+    private final long low;
+    private final long high;
+
+    private NumberSet(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    public static boolean inRange(int number) {
+        return number >= MIN && number <= MAX;
+    }
+
+    public static NumberSet of(int... numbers) {
+        long low = 0L, high = 0L;
+        for (int n : numbers) {
+            if (n == 0) continue; // free space
+            checkRange(n);
+            if (n < 64) low |= 1L << n;
+            else high |= 1L << (n - 64);
+        }
+        return new NumberSet(low, high);
+    }
+
+    /**
+     * Nulls and 0 (the free space) are skipped.
+     *
+     * @throws IllegalArgumentException if a number is outside 1..75
+     */
+    public static NumberSet of(Collection<Integer> numbers) {
+        if (numbers == null) return EMPTY;
+        return of(numbers.stream().filter(n -> n != null).mapToInt(Integer::intValue).toArray());
+    }
+
+    @JsonCreator
+    public static NumberSet fromJson(int[] numbers) {
+        return numbers == null ? EMPTY : of(numbers);
+    }
+
+    /**
+     * Build a set from the two fields of {@code BITFIELD key GET i64 0 GET u12 64}.
+     * Redis numbers bitmap offsets from the most significant bit, so both fields are bit-reversed.
+     */
+    public static NumberSet fromBitfield(long first64, long next12) {
+        return new NumberSet(Long.reverse(first64) & ~1L, Long.reverse(next12) >>> 52);
+    }
+
+    public NumberSet with(int number) {
+        checkRange(number);
+        return number < 64
+                ? new NumberSet(low | 1L << number, high)
+                : new NumberSet(low, high | 1L << (number - 64));
+    }
+
+    public NumberSet without(int number) {
+        checkRange(number);
+        return number < 64
+                ? new NumberSet(low & ~(1L << number), high)
+                : new NumberSet(low, high & ~(1L << (number - 64)));
+    }
+
+    public boolean contains(int number) {
+        if (!inRange(number)) return false;
+        return number < 64
+                ? (low & 1L << number) != 0
+                : (high & 1L << (number - 64)) != 0;
+    }
+
+    public boolean containsAll(NumberSet other) {
+        return (other.low & ~low) == 0 && (other.high & ~high) == 0;
+    }
+
+    public NumberSet union(NumberSet other) {
+        return new NumberSet(low | other.low, high | other.high);
+    }
+
+    public NumberSet intersect(NumberSet other) {
+        return new NumberSet(low & other.low, high & other.high);
+    }
+
+    public int size() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    public boolean isEmpty() {
+        return low == 0L && high == 0L;
+    }
+
+    /**
+     * Numbers in ascending order.
+     */
+    public IntStream stream() {
+        return IntStream.rangeClosed(MIN, MAX).filter(this::contains);
+    }
+
+    @JsonValue
+    public int[] toArray() {
+        return stream().toArray();
+    }
+
+    public Set<Integer> toSet() {
+        Set<Integer> set = new LinkedHashSet<>();
+        stream().forEach(set::add);
+        return set;
+    }
+
+    private static void checkRange(int number) {
+        if (!inRange(number)) {
+            throw new IllegalArgumentException("Bingo number out of range: " + number);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NumberSet other)) return false;
+        return low == other.low && high == other.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low) * 31 + Long.hashCode(high);
+    }
+
+    @Override
+    public String toString() {
+        return toSet().toString();
+    }
+}
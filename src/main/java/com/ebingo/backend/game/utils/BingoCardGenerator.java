@@ -6,62 +6,150 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class BingoCardGenerator {
 
-    /**
-     * Generates a pool of unique Bingo cards.
-     *
-     * @param poolSize Number of cards to generate.
-     * @return List of Bingo cards, each represented as a Map<Column, List<Integer>>
-     */
-    public static List<Map<BingoColumn, List<Integer>>> generateCardPool(int poolSize) {
-        System.out.println("============BingoCardGenerator========================>>> CAPACITY RECEIVED" + poolSize);
-        List<Map<BingoColumn, List<Integer>>> pool = new ArrayList<>(poolSize);
-
-        for (int i = 0; i < poolSize; i++) {
-            pool.add(generateBingoCard());
-        }
-
-        return pool;
-    }
+    // Below this many candidates, fork-join costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 2048;
 
     /**
-     * Generates a single Bingo card with center free space (0).
+     * Generates card {@code index} of the pool with the given seed. The same seed and index always give the
+     * same card, on any node, so a card never needs to be stored to be looked up.
      */
-    public static Map<BingoColumn, List<Integer>> generateBingoCard() {
+    public static Map<BingoColumn, List<Integer>> generateBingoCard(long seed, int index) {
+        SplitMix64 random = new SplitMix64(seed ^ (index + 1) * 0x9E3779B97F4A7C15L);
         Map<BingoColumn, List<Integer>> card = new LinkedHashMap<>();
 
-        card.put(BingoColumn.B, generateColumnNumbers(1, 15, 5));
-        card.put(BingoColumn.I, generateColumnNumbers(16, 30, 5));
+        card.put(BingoColumn.B, seededColumnNumbers(random, 1, 5));
+        card.put(BingoColumn.I, seededColumnNumbers(random, 16, 5));
 
-        // N column: 4 numbers + center free space
-        List<Integer> nColumn = generateColumnNumbers(31, 45, 4);
+        List<Integer> nColumn = seededColumnNumbers(random, 31, 4);
         nColumn.add(2, 0); // center free space at 3rd row
         card.put(BingoColumn.N, nColumn);
 
-        card.put(BingoColumn.G, generateColumnNumbers(46, 60, 5));
-        card.put(BingoColumn.O, generateColumnNumbers(61, 75, 5));
+        card.put(BingoColumn.G, seededColumnNumbers(random, 46, 5));
+        card.put(BingoColumn.O, seededColumnNumbers(random, 61, 5));
 
         return card;
     }
 
     /**
-     * Generates a list of unique random numbers for a column.
+     * Packed cells (see {@link CardCells}) of {@code poolSize} distinct seeded cards: cards 0, 1, 2... of the
+     * seed, skipping any card whose 64-bit fingerprint was already taken, so no two cards are equal. Candidates
+     * are generated and fingerprinted in parallel on the fork-join pool and then accepted in index order, so the
+     * result depends only on the seed.
+     */
+    public static byte[] generateUniqueCardCells(long seed, int poolSize) {
+        byte[] cells = new byte[poolSize * CardCells.CELLS];
+        LongHashSet fingerprints = new LongHashSet(poolSize);
+        int cards = 0;
+        int next = 0;
+        while (cards < poolSize) {
+            int batch = poolSize - cards;
+            int from = next;
+            byte[] candidates = new byte[batch * CardCells.CELLS];
+            long[] prints = new long[batch];
+
+            IntStream indexes = IntStream.range(0, batch);
+            if (batch >= PARALLEL_THRESHOLD) indexes = indexes.parallel();
+            indexes.forEach(i -> prints[i] = writeCardCells(seed, from + i, candidates, i * CardCells.CELLS));
+
+            for (int i = 0; i < batch; i++) {
+                if (!fingerprints.add(prints[i])) continue;
+                System.arraycopy(candidates, i * CardCells.CELLS, cells, cards * CardCells.CELLS, CardCells.CELLS);
+                cards++;
+            }
+            next += batch;
+        }
+        return cells;
+    }
+
+    /**
+     * Write the cells of {@link #generateBingoCard(long, int) generateBingoCard(seed, index)} at {@code offset},
+     * without building the card.
      *
-     * @param min   Minimum value (inclusive)
-     * @param max   Maximum value (inclusive)
-     * @param count Number of unique numbers to generate
+     * @return the card's fingerprint
+     */
+    static long writeCardCells(long seed, int index, byte[] out, int offset) {
+        SplitMix64 random = new SplitMix64(seed ^ (index + 1) * 0x9E3779B97F4A7C15L);
+        int[] numbers = new int[15];
+        long high = 0;
+        long low = 0;
+        int cell = 0;
+        for (int column = 0; column < 5; column++) {
+            for (int i = 0; i < numbers.length; i++) numbers[i] = i;
+            int count = column == 2 ? 4 : 5;
+            for (int i = 0; i < count; i++) {
+                int j = i + random.nextInt(numbers.length - i);
+                int picked = numbers[j];
+                numbers[j] = numbers[i];
+                numbers[i] = picked;
+
+                out[offset + cell] = (byte) (column * 15 + 1 + picked);
+                // 4 bits per cell: 16 cells fill the high word, the other 8 the low one
+                if (cell < 16) high = high << 4 | picked;
+                else low = low << 4 | picked;
+                cell++;
+            }
+        }
+        return fingerprint(high, low);
+    }
+
+    /**
+     * 64-bit fingerprint of a card from its 96 bits of cells. Equal cards always share a fingerprint;
+     * distinct cards do with probability about 2^-64.
+     */
+    private static long fingerprint(long high, long low) {
+        long h = high ^ mix(low + 0x9E3779B97F4A7C15L);
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Draws {@code count} distinct numbers of the 15 in a column starting at {@code min}, by a partial
+     * Fisher-Yates shuffle.
      */
-    private static List<Integer> generateColumnNumbers(int min, int max, int count) {
-        return ThreadLocalRandom.current()
-                .ints(min, max + 1)
-                .distinct()
-                .limit(count)
-                .boxed()
-//                .sorted()
-                .collect(Collectors.toList());
+    private static List<Integer> seededColumnNumbers(SplitMix64 random, int min, int count) {
+        int[] numbers = new int[15];
+        for (int i = 0; i < numbers.length; i++) numbers[i] = min + i;
+
+        List<Integer> column = new ArrayList<>(count + 1);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(numbers.length - i);
+            int picked = numbers[j];
+            numbers[j] = numbers[i];
+            numbers[i] = picked;
+            column.add(picked);
+        }
+        return column;
+    }
+
+    /**
+     * SplitMix64: fully specified, so seeded cards come out the same on every JVM.
+     */
+    private static final class SplitMix64 {
+        private long state;
+
+        SplitMix64(long seed) {
+            this.state = seed;
+        }
+
+        long nextLong() {
+            long z = (state += 0x9E3779B97F4A7C15L);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        // Uniform in [0, bound) for the small bounds used here
+        int nextInt(int bound) {
+            return (int) Long.remainderUnsigned(nextLong(), bound);
+        }
     }
 }
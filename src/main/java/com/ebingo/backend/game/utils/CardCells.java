@@ -0,0 +1,45 @@
+package com.ebingo.backend.game.utils;
+
+import com.ebingo.backend.game.enums.BingoColumn;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Layout of a bingo card as 24 numbered cells, one byte each, column by column (B, I, N, G, O), top to
+ * bottom, skipping the free center. The {@link com.ebingo.backend.game.service.CardLibrary card library} is
+ * one buffer of such cards, card {@code i} starting at byte {@code i * CELLS}; the cells are written by
+ * {@link BingoCardGenerator#generateUniqueCardCells}.
+ */
+public final class CardCells {
+
+    public static final int CELLS = 24;
+
+    private static final int ROWS = 5;
+    private static final int CENTER_ROW = 2;
+
+    private CardCells() {
+    }
+
+    /**
+     * Decode the card starting at byte {@code offset} of the buffer, without moving its position.
+     */
+    public static Map<BingoColumn, List<Integer>> decode(ByteBuffer cells, int offset) {
+        if (cells.limit() < offset + CELLS) {
+            throw new IllegalArgumentException("Expected " + CELLS + " cells at " + offset + ", got " + (cells.limit() - offset));
+        }
+        Map<BingoColumn, List<Integer>> card = new LinkedHashMap<>();
+        int i = offset;
+        for (BingoColumn column : BingoColumn.values()) {
+            List<Integer> numbers = new ArrayList<>(ROWS);
+            for (int row = 0; row < ROWS; row++) {
+                numbers.add(column == BingoColumn.N && row == CENTER_ROW ? 0 : (int) cells.get(i++));
+            }
+            card.put(column, numbers);
+        }
+        return card;
+    }
+}
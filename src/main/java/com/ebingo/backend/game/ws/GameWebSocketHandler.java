@@ -1,12 +1,10 @@
 package com.ebingo.backend.game.ws;
 
 import com.ebingo.backend.common.telegram.TelegramAuthVerifier;
+import com.ebingo.backend.game.dto.RoomCommand;
 import com.ebingo.backend.game.dto.WSMessage;
 import com.ebingo.backend.game.service.CardPoolService;
-import com.ebingo.backend.game.service.CardSelectionService;
-import com.ebingo.backend.game.service.GameService;
 import com.ebingo.backend.game.service.RedisPublisher;
-import com.ebingo.backend.game.service.state.PlayerStateService;
 import com.ebingo.backend.system.redis.RedisKeys;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -28,14 +26,11 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 
-import java.math.BigDecimal;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Component
@@ -47,12 +42,10 @@ public class GameWebSocketHandler implements WebSocketHandler {
     private final ReactiveStringRedisTemplate redis;
     private final ObjectMapper mapper;
     private final CardPoolService cardPoolService;
-    private final CardSelectionService cardSelectionService;
     private final RedisPublisher publisher;
-    private final GameService gameService;
     private final TelegramAuthVerifier telegramAuthVerifier;
     private final ObjectMapper objectMapper;
-    private final PlayerStateService playerStateService;
+    private final RoomCommandRouter roomCommandRouter;
 
     private final Map<String, Sinks.Many<WSMessage>> sessionSinks = new ConcurrentHashMap<>();
 
@@ -223,78 +216,8 @@ public class GameWebSocketHandler implements WebSocketHandler {
             WSMessage msg, Long roomId, String userId,
             String username, String sessionId
     ) {
-        String type = msg.getType();
         Map<String, Object> payload = msg.getPayload() != null ? msg.getPayload() : Map.of();
-        Integer capacity = (Integer) payload.get("capacity");
-
-        switch (type) {
-            case "room.getGameStateRequest":
-                log.info("Getting game state for user {} in room {}", userId, roomId);
-                return gameService.getOrInitializeGame(roomId, userId, capacity)
-                        .flatMap(gs -> {
-                                    Mono<Set<String>> userSelectedCardsIds = playerStateService.getPlayerCardIds(gs.getGameId(), userId); // Placeholder userId
-                                    return userSelectedCardsIds
-                                            .flatMap(userCardsIds -> {
-                                                gs.setUserSelectedCardsIds(userCardsIds);
-
-                                                return publisher.publishUserEvent(userId,
-                                                        Map.of("type", "room.serverGameState", "payload", Map.of(
-                                                                "success", true,
-                                                                "error", "",
-                                                                "gameState", gs,
-                                                                "roomId", roomId
-                                                        )));
-                                            }).then();
-                                }
-                        ).then();
-
-            case "card.cardSelectRequest":
-                String cardId = (payload.get("cardId") != null) ? payload.get("cardId").toString() : null;
-                Long gameIdEvent = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
-                return cardSelectionService.claimCard(roomId, gameIdEvent, userId, cardId, 2).then();
-
-            case "card.cardReleaseRequest":
-                String cardId2 = (payload.get("cardId") != null) ? payload.get("cardId").toString() : null;
-                Long gameEventId2 = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
-                return cardSelectionService.releaseCard(roomId, gameEventId2, userId, cardId2).then();
-
-            case "game.playerJoinRequest":
-                Long gameEventId3 = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
-                BigDecimal fee3 = (payload.get("fee") != null) ? BigDecimal.valueOf(Double.parseDouble(payload.get("fee").toString())) : null;
-                Integer capacity3 = (payload.get("capacity") != null) ? Integer.parseInt(payload.get("capacity").toString()) : 100;
-                String userId3 = (payload.get("playerId") != null) ? payload.get("playerId").toString() : null;
-                List<String> selectedCardIds = (payload.get("userSelectedCardsIds") != null)
-                        ? (List<String>) payload.get("userSelectedCardsIds")
-                        : List.of();
-                return gameService.playerJoin(roomId, gameEventId3, userId3, capacity3, fee3, selectedCardIds).then();
-
-            case "game.playerLeaveRequest":
-                Long gameEventId4 = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
-                String userId4 = (payload.get("playerId") != null) ? payload.get("playerId").toString() : null;
-                return gameService.leaveGame(roomId, gameEventId4, userId4);
-
-            case "card.markNumberRequest":
-                Long gameEventId5 = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
-                return gameService.markNumber(roomId, gameEventId5, userId, payload);
-
-            case "card.unmarkNumberRequest":
-                Long gameEventId6 = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
-                return gameService.unmarkNumber(roomId, gameEventId6, userId, payload);
-
-            case "game.bingoClaimRequest":
-                return gameService.claimBingo(roomId, userId, payload);
-
-            case "ping":
-                return publisher.publishEvent(RedisKeys.roomChannel(roomId),
-                        Map.of("type", "pong",
-                                "payload", Map.of())).then();
-
-            default:
-                return publisher.publishUserEvent(userId,
-                        Map.of("type", "error", "payload",
-                                Map.of("message", "unknown_action",
-                                        "type", type))).then();
-        }
+        return roomCommandRouter.route(new RoomCommand(msg.getType(), roomId, userId, username, payload));
     }
 
     public void sendToSession(String sessionId, WSMessage msg) {
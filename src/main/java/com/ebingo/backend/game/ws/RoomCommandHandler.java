@@ -0,0 +1,118 @@
+package com.ebingo.backend.game.ws;
+
+import com.ebingo.backend.game.dto.RoomCommand;
+import com.ebingo.backend.game.service.CardSelectionService;
+import com.ebingo.backend.game.service.GameService;
+import com.ebingo.backend.game.service.RedisPublisher;
+import com.ebingo.backend.game.service.state.PlayerStateService;
+import com.ebingo.backend.system.redis.RedisKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dispatches room commands to the game services. Only ever invoked on the node that owns the room,
+ * see {@link RoomCommandRouter}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomCommandHandler {
+
+    private final CardSelectionService cardSelectionService;
+    private final RedisPublisher publisher;
+    private final GameService gameService;
+    private final PlayerStateService playerStateService;
+
+    /**
+     * Execute a client command for a room owned by this node.
+     */
+    public Mono<Void> handle(RoomCommand command) {
+        String type = command.getType();
+        Long roomId = command.getRoomId();
+        String userId = command.getUserId();
+        Map<String, Object> payload = command.getPayload() != null ? command.getPayload() : Map.of();
+        Integer capacity = (Integer) payload.get("capacity");
+
+        switch (type) {
+            case "room.getGameStateRequest":
+                log.info("Getting game state for user {} in room {}", userId, roomId);
+                return gameService.getOrInitializeGame(roomId, userId, capacity)
+                        .flatMap(gs -> {
+                                    Mono<Set<String>> userSelectedCardsIds = playerStateService.getPlayerCardIds(gs.getGameId(), userId); // Placeholder userId
+                                    return userSelectedCardsIds
+                                            .flatMap(userCardsIds -> {
+                                                gs.setUserSelectedCardsIds(userCardsIds);
+
+                                                return publisher.publishUserEvent(userId,
+                                                        Map.of("type", "room.serverGameState", "payload", Map.of(
+                                                                "success", true,
+                                                                "error", "",
+                                                                "gameState", gs,
+                                                                "roomId", roomId
+                                                        )));
+                                            }).then();
+                                }
+                        ).then();
+
+            case "card.cardSelectRequest":
+                String cardId = (payload.get("cardId") != null) ? payload.get("cardId").toString() : null;
+                Long gameIdEvent = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
+                return cardSelectionService.claimCard(roomId, gameIdEvent, userId, cardId, 2).then();
+
+            case "card.cardReleaseRequest":
+                String cardId2 = (payload.get("cardId") != null) ? payload.get("cardId").toString() : null;
+                Long gameEventId2 = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
+                return cardSelectionService.releaseCard(roomId, gameEventId2, userId, cardId2).then();
+
+            case "game.playerJoinRequest":
+                Long gameEventId3 = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
+                BigDecimal fee3 = (payload.get("fee") != null) ? BigDecimal.valueOf(Double.parseDouble(payload.get("fee").toString())) : null;
+                Integer capacity3 = (payload.get("capacity") != null) ? Integer.parseInt(payload.get("capacity").toString()) : 100;
+                String userId3 = (payload.get("playerId") != null) ? payload.get("playerId").toString() : null;
+                List<String> selectedCardIds = (payload.get("userSelectedCardsIds") instanceof List<?> ids)
+                        ? ids.stream().map(String::valueOf).toList()
+                        : List.of();
+                return gameService.playerJoin(roomId, gameEventId3, userId3, capacity3, fee3, selectedCardIds).then();
+
+            case "game.playerLeaveRequest":
+                Long gameEventId4 = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
+                String userId4 = (payload.get("playerId") != null) ? payload.get("playerId").toString() : null;
+                return gameService.leaveGame(roomId, gameEventId4, userId4);
+
+            case "card.markNumberRequest":
+                Long gameEventId5 = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
+                return gameService.markNumber(roomId, gameEventId5, userId, payload);
+
+            case "card.unmarkNumberRequest":
+                Long gameEventId6 = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
+                return gameService.unmarkNumber(roomId, gameEventId6, userId, payload);
+
+            case "game.drawnNumbersRequest":
+                Long gameEventId7 = (payload.get("gameId") != null) ? Long.valueOf(payload.get("gameId").toString()) : null;
+                long afterSeq = (payload.get("afterSeq") != null) ? Long.parseLong(payload.get("afterSeq").toString()) : 0L;
+                return gameService.sendDrawnNumbersSince(roomId, gameEventId7, userId, afterSeq);
+
+            case "game.bingoClaimRequest":
+                return gameService.claimBingo(roomId, userId, payload);
+
+            case "ping":
+                return publisher.publishEvent(RedisKeys.roomChannel(roomId),
+                        Map.of("type", "pong",
+                                "payload", Map.of())).then();
+
+            default:
+                return publisher.publishUserEvent(userId,
+                        Map.of("type", "error", "payload",
+                                Map.of("message", "unknown_action",
+                                        "type", type))).then();
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.ebingo.backend.game.ws;
+
+import com.ebingo.backend.game.dto.RoomCommand;
+import com.ebingo.backend.game.service.RedisPublisher;
+import com.ebingo.backend.game.service.RoomActorRegistry;
+import com.ebingo.backend.game.service.cluster.RoomOwnershipService;
+import com.ebingo.backend.system.redis.RedisKeys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Sends every room command to the node that owns the room. Commands for local rooms are handled
+ * in-process; others are forwarded over the owner's command channel, where the owner's router
+ * picks them up and handles them locally. Local handling goes through the room's actor, so commands of
+ * one room never run concurrently on the owner; a join instead sends only its state changes to the actor.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomCommandRouter {
+
+    private static final Set<String> SELF_SERIALIZED_COMMANDS = Set.of("game.playerJoinRequest");
+
+    private final RoomOwnershipService ownership;
+    private final RoomCommandHandler handler;
+    private final RoomActorRegistry roomActors;
+    private final RedisPublisher publisher;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper mapper;
+
+    public Mono<Void> route(RoomCommand command) {
+        String owner = ownership.ownerOf(command.getRoomId());
+        if (owner.equals(ownership.getLocalNodeId())) {
+            return handleLocally(command);
+        }
+
+        log.debug("Forwarding {} for room {} to node {}", command.getType(), command.getRoomId(), owner);
+        return publisher.publishRaw(RedisKeys.nodeCommandChannel(owner), command)
+                .flatMap(receivers -> {
+                    if (receivers > 0) return Mono.<Void>empty();
+                    // Owner is not listening (e.g. just died); handle here rather than drop the command
+                    log.warn("Node {} did not receive {} for room {}, handling locally", owner, command.getType(), command.getRoomId());
+                    return handleLocally(command);
+                });
+    }
+
+    private Mono<Void> handleLocally(RoomCommand command) {
+        // A join sends its own state changes to the room's actor and keeps the payment call outside it
+        if (SELF_SERIALIZED_COMMANDS.contains(command.getType())) {
+            return handler.handle(command);
+        }
+        return roomActors.ask(command.getRoomId(), () -> handler.handle(command));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void listenForForwardedCommands() {
+        listenerContainer.receive(ChannelTopic.of(RedisKeys.nodeCommandChannel(ownership.getLocalNodeId())))
+                .map(ReactiveSubscription.Message::getMessage)
+                .flatMap(json -> Mono.fromCallable(() -> mapper.readValue(json, RoomCommand.class))
+                        .flatMap(this::handleLocally)
+                        .onErrorResume(e -> {
+                            log.error("Failed to handle forwarded command {}", json, e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+}
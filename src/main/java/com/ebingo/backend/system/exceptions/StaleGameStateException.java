@@ -0,0 +1,11 @@
+package com.ebingo.backend.system.exceptions;
+
+public class StaleGameStateException extends RuntimeException {
+    public StaleGameStateException(Long roomId, long expectedVersion, long currentVersion) {
+        super("Game state of room " + roomId + " is at version " + currentVersion + ", expected " + expectedVersion);
+    }
+
+    public StaleGameStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ebingo.backend.system.redis;
+
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Commands of one logical state change, sent together by {@link RedisBatchExecutor}.
+ * Values are passed as they should be stored, so callers encode hash values themselves.
+ * Not thread-safe; build it, then {@link #execute()} once.
+ */
+public class RedisBatch {
+
+    private final RedisBatchExecutor executor;
+    private final String operation;
+    private final List<String> keys = new ArrayList<>();
+    private final List<String> args = new ArrayList<>();
+    private int commands = 0;
+
+    RedisBatch(RedisBatchExecutor executor, String operation) {
+        this.executor = executor;
+        this.operation = operation;
+    }
+
+    /**
+     * Add a command whose first argument is {@code key}.
+     */
+    public RedisBatch command(String name, String key, String... commandArgs) {
+        keys.add(key);
+        add(name, true, List.of(commandArgs));
+        return this;
+    }
+
+    public RedisBatch hset(String key, Map<String, String> fields) {
+        List<String> fieldArgs = new ArrayList<>(fields.size() * 2);
+        fields.forEach((field, value) -> {
+            fieldArgs.add(field);
+            fieldArgs.add(value);
+        });
+        keys.add(key);
+        add("HSET", true, fieldArgs);
+        return this;
+    }
+
+    public RedisBatch expire(String key, long seconds) {
+        return command("EXPIRE", key, String.valueOf(seconds));
+    }
+
+    public RedisBatch publish(String channel, String message) {
+        add("PUBLISH", false, List.of(channel, message));
+        return this;
+    }
+
+    /**
+     * Send every command in one round trip.
+     *
+     * @return one reply per command, in the order they were added
+     */
+    public Mono<List<Object>> execute() {
+        return executor.execute(operation, List.copyOf(keys), List.copyOf(args), commands);
+    }
+
+    private void add(String name, boolean keyed, List<String> commandArgs) {
+        args.add(name);
+        args.add(keyed ? "1" : "0");
+        args.add(String.valueOf(commandArgs.size()));
+        args.addAll(commandArgs);
+        commands++;
+    }
+}
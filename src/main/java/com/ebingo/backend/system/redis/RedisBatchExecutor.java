@@ -0,0 +1,109 @@
+package com.ebingo.backend.system.redis;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends all Redis commands of one logical state change in a single round trip.
+ * <p>
+ * The commands of a {@link RedisBatch} run inside one Lua script, so they are applied atomically
+ * (like a MULTI block) and cost one round trip regardless of how many there are. Per operation,
+ * {@code bingo_redis_round_trips} records the round trips, {@code bingo_redis_batch_commands}
+ * the number of commands sent and {@code bingo_redis_batch_duration} the time each batch took.
+ */
+@Component
+public class RedisBatchExecutor {
+
+    /**
+     * Runs the batch. ARGV holds, per command: name, whether it takes a key (1/0), arg count, args.
+     * Keyed commands take their key from KEYS, in order. Returns one reply per command.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> BATCH_SCRIPT = RedisScript.of("""
+            local results = {}
+            local ki, ai = 1, 1
+            while ai <= #ARGV do
+                local args = {ARGV[ai]}
+                local keyed = ARGV[ai + 1] == '1'
+                local n = tonumber(ARGV[ai + 2])
+                ai = ai + 3
+                if keyed then
+                    args[#args + 1] = KEYS[ki]
+                    ki = ki + 1
+                end
+                for j = 1, n do
+                    args[#args + 1] = ARGV[ai]
+                    ai = ai + 1
+                end
+                local reply = redis.call(unpack(args))
+                if type(reply) == 'table' and reply.ok then
+                    reply = reply.ok
+                end
+                results[#results + 1] = reply
+            end
+            return results
+            """, List.class);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final MeterRegistry registry;
+
+    public RedisBatchExecutor(ReactiveStringRedisTemplate redis, MeterRegistry registry) {
+        this.redis = redis;
+        this.registry = registry;
+    }
+
+    /**
+     * Start collecting the commands of one operation; {@code operation} tags the metrics.
+     */
+    public RedisBatch begin(String operation) {
+        return new RedisBatch(this, operation);
+    }
+
+    /**
+     * Record a plain (unbatched) Redis call made as part of an operation.
+     */
+    public void recordRoundTrip(String operation) {
+        roundTrips(operation).record(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    Mono<List<Object>> execute(String operation, List<String> keys, List<String> args, int commands) {
+        if (commands == 0) return Mono.just(List.of());
+
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return redis.execute(BATCH_SCRIPT, keys, args)
+                    .next()
+                    .map(result -> (List<Object>) result)
+                    .defaultIfEmpty(new ArrayList<>())
+                    .doOnSubscribe(s -> {
+                        roundTrips(operation).record(1);
+                        DistributionSummary.builder("bingo_redis_batch_commands")
+                                .tag("operation", operation)
+                                .register(registry)
+                                .record(commands);
+                    })
+                    .doOnTerminate(() -> Timer.builder("bingo_redis_batch_duration")
+                            .description("Time to run one Redis batch")
+                            .tag("operation", operation)
+                            .register(registry)
+                            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private DistributionSummary roundTrips(String operation) {
+        return DistributionSummary.builder("bingo_redis_round_trips")
+                .description("Redis round trips per logical operation")
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
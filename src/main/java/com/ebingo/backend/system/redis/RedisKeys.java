@@ -1,28 +1,14 @@
 package com.ebingo.backend.system.redis;
 
 public final class RedisKeys {
-    public static String currentCardPoolKey(Long roomId) {
-        return "current:game:pool:room" + roomId;
-    }
-
 //    public static String nextCardPoolKey(Long roomId) {
 //        return "next:game:pool:room" + roomId;
 //    }
 
-    public static String roomCardKey(Long roomId, String cardId) {
-        cardId = cardId.replace('-', '_');
-        return "room:" + roomId + ":card:" + cardId;
-    }
-
     public static String cardOwnerKey(Long gameId, String cardId) {
         return "game:" + gameId + ":card:" + cardId + ":owner";
     }
 
-    public static String roomCardsSetKey(Long roomId) {
-//        System.out.println("==================================>>> ROOM ID: " + roomId);
-        return "room:" + roomId + ":cards";
-    }
-
     public static String userOwnedCardsKey(Long gameId, String userId) {
         userId = userId.replace('-', '_');
         return "game:" + gameId + ":owner:" + userId + ":cards";
@@ -64,8 +50,24 @@ public final class RedisKeys {
         return "room:" + roomId + ":game:state:";
     }
 
+    // SCAN pattern matching the game state key of every room
+    public static String gameStateKeyPattern() {
+        return "room:*:game:state:";
+    }
+
+    // Game state keys look like room:<roomId>:game:state:
+    public static Long roomIdOfGameStateKey(String gameStateKey) {
+        return Long.valueOf(gameStateKey.split(":")[1]);
+    }
+
+    // Append-only list of drawn numbers in draw order; a number's sequence is its 1-based position
     public static String gameDrawnNumbersKey(Long gameId) {
-        return "game:" + gameId + ":drawnNumbers";
+        return "game:" + gameId + ":drawnLog";
+    }
+
+    // Pre-shuffled 1..75 permutation, popped from the left on every draw tick
+    public static String gameDrawSequenceKey(Long gameId) {
+        return "game:" + gameId + ":drawSequence";
     }
 
     public static String gamePlayersKey(Long gameId) {
@@ -88,10 +90,11 @@ public final class RedisKeys {
         return "game:" + gameId + ":player:" + userId + ":cardsIds";
     }
 
+    // Bitmap per card; bit offset n is set while number n is marked (see NumberSet)
     public static String playerMarkedNumbersKey(Long gameId, String userId, String cardId) {
         cardId = cardId.replace('-', '_');
         userId = userId.replace('-', '_');
-        return "game:" + gameId + ":player:" + userId + ":card:" + cardId + ":marked";
+        return "game:" + gameId + ":player:" + userId + ":card:" + cardId + ":markedBits";
     }
 
 
@@ -103,6 +106,46 @@ public final class RedisKeys {
         return "game:" + gameId + ":drawingLock";
     }
 
+    // Hash of gameId -> roomId for every game whose numbers are being drawn, on any node
+    public static String activeDrawsKey() {
+        return "games:drawing";
+    }
+
+
+    // Sorted set of rooms with a running countdown, scored by the countdown deadline (epoch millis)
+    public static String pendingCountdownsKey() {
+        return "games:countdowns";
+    }
+
+    // Journal of a game's events, copied to Postgres by the event sink
+    public static String gameEventStreamKey(Long gameId) {
+        return "game:" + gameId + ":events";
+    }
+
+    // Set of game event streams the event sink still has to read
+    public static String gameEventStreamsKey() {
+        return "games:event-streams";
+    }
+
+    // Hash of gameId -> latest row snapshot waiting to be written to the game table
+    public static String gameWriteBehindKey() {
+        return "games:write-behind:pending";
+    }
+
+    // Sorted set of live nodes scored by their last heartbeat (epoch millis)
+    public static String clusterNodesKey() {
+        return "cluster:nodes";
+    }
+
+    // Game state near cache invalidations ("room:<roomId>:<version>" or "game:<gameId>")
+    public static String gameStateInvalidationChannel() {
+        return "games:state:invalidations";
+    }
+
+    // Commands forwarded to the node that owns a room
+    public static String nodeCommandChannel(String nodeId) {
+        return "node:" + nodeId + ":commands";
+    }
 
     public static String countdownLockKey(Long gameId) {
         return "game:" + gameId + ":countdownLock";
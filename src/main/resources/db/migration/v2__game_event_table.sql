@@ -0,0 +1,16 @@
+-- game_event Table: journal of game events, copied from the per-game Redis streams
+CREATE TABLE game_event (
+    id BIGSERIAL PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    room_id BIGINT,
+    stream_id VARCHAR(40) NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload TEXT,
+    occurred_at TIMESTAMP NOT NULL,
+    create_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_game_event_stream UNIQUE (game_id, stream_id),
+    CONSTRAINT fk_game_event_game FOREIGN KEY (game_id) REFERENCES game(id) ON DELETE CASCADE
+);
+
+-- Indexes for game_event
+CREATE INDEX idx_game_event_type ON game_event(event_type);
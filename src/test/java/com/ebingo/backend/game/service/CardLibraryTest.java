@@ -0,0 +1,58 @@
+package com.ebingo.backend.game.service;
+
+import com.ebingo.backend.game.dto.CardInfo;
+import com.ebingo.backend.game.utils.BingoCardGenerator;
+import com.ebingo.backend.game.utils.CardCells;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardLibraryTest {
+
+    @Test
+    void numberedCardsAreDistinctAndStable() {
+        CardLibrary library = CardLibrary.of(BingoCardGenerator.generateUniqueCardCells(7355608L, 500));
+
+        assertEquals(500, library.size());
+        Set<Object> distinct = new HashSet<>();
+        library.cards(500).forEach(card -> distinct.add(card.getNumbers()));
+        assertEquals(500, distinct.size());
+
+        assertEquals("17", library.card(17).getCardId());
+        assertEquals(BingoCardGenerator.generateBingoCard(7355608L, 0), library.card(1).getNumbers());
+        assertEquals(library.card(17).getNumbers(), CardLibrary.of(BingoCardGenerator.generateUniqueCardCells(7355608L, 20)).card(17).getNumbers());
+    }
+
+    @Test
+    void poolsAreTheFirstCardsOfTheLibrary() {
+        CardLibrary library = CardLibrary.of(BingoCardGenerator.generateUniqueCardCells(1L, 10));
+
+        assertEquals(List.of("1", "2", "3"), List.copyOf(library.cardIds(3)));
+        assertEquals(10, library.cards(400).size());
+        assertThrows(IllegalArgumentException.class, () -> library.card(11));
+        assertThrows(IllegalStateException.class, () -> CardLibrary.of(new byte[CardCells.CELLS + 1]));
+    }
+
+    @Test
+    void poolsAreDecodedOnceAndShared() {
+        CardLibrary library = CardLibrary.of(BingoCardGenerator.generateUniqueCardCells(1L, 10));
+
+        assertFalse(library.isPrepared(5));
+        List<CardInfo> pool = library.cards(5);
+        assertTrue(library.isPrepared(5));
+        assertSame(pool, library.cards(5));
+        assertThrows(UnsupportedOperationException.class, () -> pool.get(0).getNumbers().clear());
+    }
+
+    @Test
+    void onlyCardNumbersAreLibraryIds() {
+        assertEquals(42, CardLibrary.numberOf("42"));
+        assertEquals(-1, CardLibrary.numberOf("042"));
+        assertEquals(-1, CardLibrary.numberOf("3f9a-17"));
+        assertEquals(-1, CardLibrary.numberOf(""));
+    }
+}
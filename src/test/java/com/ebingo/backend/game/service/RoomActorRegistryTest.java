@@ -0,0 +1,72 @@
+package com.ebingo.backend.game.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomActorRegistryTest {
+
+    private SimpleMeterRegistry registry;
+    private RoomActorRegistry actors;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        actors = new RoomActorRegistry(registry);
+        ReflectionTestUtils.setField(actors, "taskTimeoutSeconds", 1);
+    }
+
+    @Test
+    void messagesOfOneRoomNeverOverlap() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+
+        Flux.range(0, 20)
+                .flatMap(i -> actors.ask(1L, () -> Mono.fromRunnable(() -> maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max))
+                        .then(Mono.delay(Duration.ofMillis(5)))
+                        .then(Mono.fromRunnable(() -> {
+                            order.add(i);
+                            running.decrementAndGet();
+                        }))))
+                .blockLast(Duration.ofSeconds(5));
+
+        assertEquals(1, maxRunning.get());
+        assertEquals(20, order.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    void failedMessageDoesNotBlockTheRoom() {
+        Mono<Void> failing = actors.ask(2L, () -> Mono.error(new IllegalStateException("boom")));
+        assertThrows(IllegalStateException.class, () -> failing.block(Duration.ofSeconds(2)));
+
+        AtomicInteger runs = new AtomicInteger();
+        actors.ask(2L, () -> Mono.fromRunnable(runs::incrementAndGet)).block(Duration.ofSeconds(2));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void drainedActorsAreEvicted() {
+        Flux.range(0, 10)
+                .flatMap(i -> actors.ask((long) (i % 3), () -> Mono.delay(Duration.ofMillis(2)).then()))
+                .blockLast(Duration.ofSeconds(5));
+        assertEquals(0, registry.get("bingo_room_actors").gauge().value());
+
+        AtomicInteger runs = new AtomicInteger();
+        actors.ask(1L, () -> Mono.fromRunnable(runs::incrementAndGet)).block(Duration.ofSeconds(2));
+        assertEquals(1, runs.get());
+    }
+}
@@ -0,0 +1,81 @@
+package com.ebingo.backend.game.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomTickSchedulerTest {
+
+    private SimpleMeterRegistry registry;
+    private RoomTickScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        scheduler = new RoomTickScheduler(registry, 10, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.destroy();
+    }
+
+    @Test
+    void firesScheduledTaskAndRecordsDrift() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        scheduler.schedule(1L, RoomTickScheduler.TimerKind.DRAW, Duration.ofMillis(30),
+                () -> Mono.fromRunnable(latch::countDown));
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(1, registry.get("bingo_room_timer_drift").timer().count());
+        assertFalse(scheduler.isScheduled(1L, RoomTickScheduler.TimerKind.DRAW));
+    }
+
+    @Test
+    void cancelledTaskNeverFires() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+
+        scheduler.schedule(2L, RoomTickScheduler.TimerKind.COUNTDOWN, Duration.ofMillis(50),
+                () -> Mono.fromRunnable(runs::incrementAndGet));
+        assertTrue(scheduler.cancel(2L, RoomTickScheduler.TimerKind.COUNTDOWN));
+
+        Thread.sleep(200);
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void schedulingSameRoomAndKindReplacesPreviousTimer() throws InterruptedException {
+        AtomicInteger first = new AtomicInteger();
+        CountDownLatch second = new CountDownLatch(1);
+
+        scheduler.schedule(3L, RoomTickScheduler.TimerKind.DRAW, Duration.ofMillis(50),
+                () -> Mono.fromRunnable(first::incrementAndGet));
+        scheduler.schedule(3L, RoomTickScheduler.TimerKind.DRAW, Duration.ofMillis(80),
+                () -> Mono.fromRunnable(second::countDown));
+
+        assertTrue(second.await(2, TimeUnit.SECONDS));
+        assertEquals(0, first.get());
+    }
+
+    @Test
+    void immediateTimerLeavesNoEntryBehind() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        scheduler.schedule(4L, RoomTickScheduler.TimerKind.END_CHECK, Duration.ZERO,
+                () -> Mono.fromRunnable(latch::countDown));
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertFalse(scheduler.isScheduled(4L, RoomTickScheduler.TimerKind.END_CHECK));
+        assertFalse(scheduler.cancel(4L, RoomTickScheduler.TimerKind.END_CHECK));
+    }
+}
@@ -0,0 +1,55 @@
+package com.ebingo.backend.game.service.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int ROOMS = 10_000;
+
+    @Test
+    void emptyRingHasNoOwner() {
+        assertNull(ConsistentHashRing.empty().ownerOf(1L));
+    }
+
+    @Test
+    void ownershipIsDeterministicRegardlessOfNodeOrder() {
+        ConsistentHashRing a = new ConsistentHashRing(List.of("node-a", "node-b", "node-c"), 128);
+        ConsistentHashRing b = new ConsistentHashRing(List.of("node-c", "node-a", "node-b"), 128);
+
+        for (long room = 1; room <= ROOMS; room++) {
+            assertEquals(a.ownerOf(room), b.ownerOf(room));
+        }
+    }
+
+    @Test
+    void roomsAreSpreadAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-a", "node-b", "node-c", "node-d"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long room = 1; room <= ROOMS; room++) {
+            counts.merge(ring.ownerOf(room), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(count > ROOMS / 4 * 0.7, "unbalanced ring: " + counts));
+    }
+
+    @Test
+    void onlyRoomsOfTheLeavingNodeMove() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-a", "node-b", "node-c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-a", "node-b"), 128);
+
+        for (long room = 1; room <= ROOMS; room++) {
+            String owner = before.ownerOf(room);
+            if (!"node-c".equals(owner)) {
+                assertEquals(owner, after.ownerOf(room));
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ebingo.backend.game.service.state;
+
+import com.ebingo.backend.game.service.GameMetrics;
+import com.ebingo.backend.game.state.GameState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameStateCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private GameStateCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReactiveStringRedisTemplate redis = mock(ReactiveStringRedisTemplate.class);
+        when(redis.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        ReactiveRedisMessageListenerContainer container = mock(ReactiveRedisMessageListenerContainer.class);
+        when(container.receive(any(ChannelTopic.class))).thenReturn(Flux.never());
+
+        registry = new SimpleMeterRegistry();
+        cache = new GameStateCache(redis, container, new GameMetrics(registry));
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxAgeMillis", 60_000L);
+        cache.listenForInvalidations();
+    }
+
+    private Mono<GameState> load(long version) {
+        loads.incrementAndGet();
+        GameState state = new GameState();
+        state.setRoomId(1L);
+        state.setGameId(10L);
+        state.setVersion(version);
+        return Mono.just(state);
+    }
+
+    @Test
+    void servesCopiesUntilInvalidated() {
+        GameState first = cache.get(1L, () -> load(1)).block();
+        first.getJoinedPlayers().add("mutated");
+
+        GameState cached = cache.get(1L, () -> load(1)).block();
+        assertEquals(1, loads.get());
+        assertTrue(cached.getJoinedPlayers().isEmpty());
+        assertEquals(1, registry.get("bingo_game_state_cache_hits").counter().count());
+
+        cache.invalidateGame(10L).block();
+        cache.get(1L, () -> load(2)).block();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void dropsFillThatRacedWithAnInvalidation() {
+        Sinks.One<GameState> slowLoad = Sinks.one();
+        Mono<GameState> pending = cache.get(1L, slowLoad::asMono);
+
+        GameState stale = new GameState();
+        stale.setRoomId(1L);
+        stale.setVersion(3);
+        Mono<GameState> result = pending.doOnSubscribe(s -> {
+            cache.invalidateRoom(1L, 4).block();
+            slowLoad.tryEmitValue(stale);
+        });
+        result.block();
+
+        cache.get(1L, () -> load(4)).block();
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,44 @@
+package com.ebingo.backend.game.state;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberSetTest {
+
+    @Test
+    void readsRedisBitmapOffsetsAsNumbers() {
+        // Offset n is bit 63 - n of the i64 field and bit 75 - n of the u12 field
+        long first64 = (1L << 62) | 1L;
+        long next12 = (1L << 11) | 1L;
+
+        assertEquals(NumberSet.of(1, 63, 64, 75), NumberSet.fromBitfield(first64, next12));
+    }
+
+    @Test
+    void setOperationsWorkOnTheMask() {
+        NumberSet row = NumberSet.of(List.of(5, 20, 0, 50, 65));
+        NumberSet marked = NumberSet.of(5, 20, 50, 65, 70).without(70).with(2);
+
+        assertEquals(4, row.size());
+        assertTrue(marked.containsAll(row));
+        assertFalse(row.containsAll(marked));
+        assertEquals(row, marked.intersect(row));
+        assertThrows(IllegalArgumentException.class, () -> NumberSet.of(76));
+    }
+
+    @Test
+    void serializesAsSortedNumberArray() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        NumberSet set = NumberSet.of(Set.of(75, 3, 64));
+
+        String json = mapper.writeValueAsString(set);
+
+        assertEquals("[3,64,75]", json);
+        assertEquals(set, mapper.readValue(json, NumberSet.class));
+    }
+}
@@ -0,0 +1,23 @@
+package com.ebingo.backend.game.utils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Card library generation throughput. Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BingoCardGeneratorBenchmarkTest {
+
+    @Test
+    void uniqueCardCellsThroughput() {
+        BingoCardGenerator.generateUniqueCardCells(7L, 10_000); // warm up
+
+        for (int size : new int[]{1_000, 10_000, 100_000}) {
+            long started = System.nanoTime();
+            BingoCardGenerator.generateUniqueCardCells(7L, size);
+            long elapsed = System.nanoTime() - started;
+            System.out.printf("Unique pool of %,d cards: %,d cards/s%n", size, size * 1_000_000_000L / Math.max(elapsed, 1));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ebingo.backend.game.utils;
+
+import com.ebingo.backend.game.enums.BingoColumn;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BingoCardGeneratorTest {
+
+    @Test
+    void seededCardsFollowTheColumnRanges() {
+        Map<BingoColumn, List<Integer>> card = BingoCardGenerator.generateBingoCard(42L, 7);
+
+        int min = 1;
+        for (BingoColumn column : BingoColumn.values()) {
+            List<Integer> numbers = card.get(column);
+            assertEquals(5, numbers.size());
+            assertEquals(5, new HashSet<>(numbers).size());
+            for (int row = 0; row < 5; row++) {
+                int n = numbers.get(row);
+                if (column == BingoColumn.N && row == 2) assertEquals(0, n);
+                else assertTrue(n >= min && n < min + 15, column + " has " + n);
+            }
+            min += 15;
+        }
+    }
+
+    @Test
+    void packedCellsMatchTheSeededCards() {
+        byte[] cells = new byte[CardCells.CELLS];
+        for (int i = 0; i < 100; i++) {
+            BingoCardGenerator.writeCardCells(99L, i, cells, 0);
+            assertEquals(BingoCardGenerator.generateBingoCard(99L, i),
+                    CardCells.decode(ByteBuffer.wrap(cells), 0));
+        }
+    }
+
+    @Test
+    void uniquePoolsHaveNoRepeatedCards() {
+        // Large enough to take the parallel path
+        int size = 10_000;
+        byte[] cells = BingoCardGenerator.generateUniqueCardCells(7L, size);
+
+        Set<String> distinct = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            distinct.add(new String(cells, i * CardCells.CELLS, CardCells.CELLS, StandardCharsets.ISO_8859_1));
+        }
+        assertEquals(size, distinct.size());
+        assertArrayEquals(cells, BingoCardGenerator.generateUniqueCardCells(7L, size));
+    }
+
+    @Test
+    void longHashSetRejectsRepeats() {
+        LongHashSet set = new LongHashSet(2);
+        for (long value = -50; value < 50; value++) {
+            assertTrue(set.add(value * 0x100000001L));
+        }
+        assertFalse(set.add(0));
+        assertFalse(set.add(7 * 0x100000001L));
+        assertTrue(set.contains(-50 * 0x100000001L));
+        assertFalse(set.contains(1));
+        assertEquals(100, set.size());
+    }
+}
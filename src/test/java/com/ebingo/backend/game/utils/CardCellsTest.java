@@ -0,0 +1,33 @@
+package com.ebingo.backend.game.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardCellsTest {
+
+    @Test
+    void everyCellIsOneNumberedByte() {
+        byte[] cells = new byte[CardCells.CELLS];
+        BingoCardGenerator.writeCardCells(5L, 0, cells, 0);
+
+        for (byte cell : cells) {
+            assertTrue(cell >= 1 && cell <= 75, "cell " + cell);
+        }
+        assertEquals(BingoCardGenerator.generateBingoCard(5L, 0), CardCells.decode(ByteBuffer.wrap(cells), 0));
+    }
+
+    @Test
+    void decodesTheCardAtItsOffsetInTheBuffer() {
+        byte[] cells = new byte[2 * CardCells.CELLS];
+        BingoCardGenerator.writeCardCells(5L, 0, cells, 0);
+        BingoCardGenerator.writeCardCells(5L, 1, cells, CardCells.CELLS);
+        ByteBuffer buffer = ByteBuffer.wrap(cells);
+
+        assertEquals(BingoCardGenerator.generateBingoCard(5L, 1), CardCells.decode(buffer, CardCells.CELLS));
+        assertEquals(0, buffer.position());
+        assertThrows(IllegalArgumentException.class, () -> CardCells.decode(buffer, 2 * CardCells.CELLS));
+    }
+}
@@ -0,0 +1,41 @@
+package com.ebingo.backend.system.redis;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RedisBatchTest {
+
+    @Test
+    void encodesCommandsForTheBatchScript() {
+        RedisBatchExecutor executor = mock(RedisBatchExecutor.class);
+        when(executor.execute(anyString(), anyList(), anyList(), anyInt())).thenReturn(Mono.just(List.of()));
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("status", "\"READY\"");
+        fields.put("ended", "\"false\"");
+
+        new RedisBatch(executor, "test")
+                .hset("room:1:game", fields)
+                .expire("room:1:game", 60)
+                .publish("channel", "hello")
+                .command("SMEMBERS", "game:2:players")
+                .execute()
+                .block();
+
+        verify(executor).execute(
+                "test",
+                List.of("room:1:game", "room:1:game", "game:2:players"),
+                List.of("HSET", "1", "4", "status", "\"READY\"", "ended", "\"false\"",
+                        "EXPIRE", "1", "1", "60",
+                        "PUBLISH", "0", "2", "channel", "hello",
+                        "SMEMBERS", "1", "0"),
+                4);
+    }
+}